@@ -1,5 +1,6 @@
 package com.project.marginal.tax.calculator.bootstrap;
 
+import com.project.marginal.tax.calculator.service.ImportLeaderElection;
 import com.project.marginal.tax.calculator.service.TaxDataImportService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -23,6 +24,7 @@ public class S3ImportPoller {
 
     private final S3Client s3Client;
     private final TaxDataImportService importer;
+    private final ImportLeaderElection leaderElection;
 
     private final AtomicBoolean running = new AtomicBoolean(false);
     private volatile String lastETag;
@@ -41,6 +43,10 @@ public class S3ImportPoller {
             log.debug("S3 import disabled or not configured (bucket/key missing)");
             return;
         }
+        if (!leaderElection.confirmLeadership()) {
+            log.debug("Not the import leader; another node polls S3");
+            return;
+        }
         if (!running.compareAndSet(false, true)) {
             return; // previous run still in progress
         }
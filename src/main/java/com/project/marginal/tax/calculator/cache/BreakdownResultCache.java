@@ -0,0 +1,129 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.marginal.tax.calculator.dto.TaxResult;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Caches single-scenario breakdowns, keyed by dataset version, year, status and income in cents.
+ * <p>
+ * Breakdown traffic is heavily skewed towards a few thousand scenarios, so entries are evicted by Caffeine's
+ * frequency-aware W-TinyLFU policy: a one-off income does not push out a popular one. The cache is bounded by
+ * the estimated heap held by its results ({@code tax.breakdown-cache.max-bytes}, 0 disables it).
+ * </p>
+ * <p>
+ * Results are only cached when computed from {@link BracketIndexProvider#current()}, and the first lookup that
+ * sees a new snapshot drops every entry, so an import invalidates the cache without waiting for eviction.
+ * Hits, misses, evictions and size are published as the standard {@code cache.*} meters tagged
+ * {@code cache=tax.breakdown}.
+ * </p>
+ */
+@Component
+public class BreakdownResultCache {
+
+    static final String NAME = "tax.breakdown";
+
+    /** Estimated heap of a key, a result without brackets and the cache's own node, in bytes. */
+    static final int ENTRY_OVERHEAD_BYTES = 200;
+
+    /** Estimated heap of one {@code BracketTax} plus its list slot, in bytes. */
+    static final int BRACKET_BYTES = 56;
+
+    private final BracketIndexProvider indexProvider;
+    private final Cache<Key, TaxResult> cache;
+
+    private volatile BracketIndex owner;
+
+    public BreakdownResultCache(BracketIndexProvider indexProvider,
+                                @Value("${tax.breakdown-cache.max-bytes:16777216}") long maxBytes,
+                                MeterRegistry registry) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("tax.breakdown-cache.max-bytes must not be negative");
+        }
+        this.indexProvider = indexProvider;
+        this.cache = maxBytes == 0 ? null : Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher(BreakdownResultCache::weigh)
+                .recordStats()
+                .build();
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, NAME);
+        }
+    }
+
+    /**
+     * Returns the cached breakdown for the scenario under {@code index}, computing it with {@code breakdown} on
+     * a miss. Exceptions thrown by {@code breakdown} propagate and nothing is cached.
+     */
+    public TaxResult get(BracketIndex index, int year, FilingStatus status, long incomeCents,
+                         Supplier<TaxResult> breakdown) {
+        if (cache == null || !isCurrent(index)) {
+            return breakdown.get();
+        }
+        return cache.get(new Key(index.version(), year, status, incomeCents), k -> breakdown.get());
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public void clear() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    public long size() {
+        if (cache == null) {
+            return 0;
+        }
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Returns whether {@code index} is the served snapshot, first invalidating the cache if the snapshot moved
+     * since the last lookup. A request still holding an older snapshot bypasses the cache.
+     */
+    private boolean isCurrent(BracketIndex index) {
+        if (index != indexProvider.current()) {
+            return false;
+        }
+        if (owner != index) {
+            synchronized (this) {
+                if (owner != index) {
+                    cache.invalidateAll();
+                    owner = index;
+                }
+            }
+        }
+        return true;
+    }
+
+    static int weigh(Key key, TaxResult result) {
+        int message = result.message() == null ? 0 : 40 + 2 * result.message().length();
+        return ENTRY_OVERHEAD_BYTES + BRACKET_BYTES * result.brackets().size() + message;
+    }
+
+    record Key(long version, int year, FilingStatus status, long incomeCents) {
+    }
+}
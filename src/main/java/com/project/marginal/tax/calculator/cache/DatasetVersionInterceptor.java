@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.cache;
+
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers conditional GET and HEAD requests for dataset-derived endpoints from the current
+ * {@link BracketIndex} snapshot, before the handler runs.
+ * <p>
+ * Every response carries a strong {@code ETag} derived from the dataset version, a {@code Last-Modified} from
+ * when that version was committed, and {@code Cache-Control}. A request whose {@code If-None-Match} (or, without
+ * one, {@code If-Modified-Since}) still matches is answered with 304 and never reaches the controller.
+ * </p>
+ * <p>
+ * The representation of a URL is fully determined by the dataset version and by whether the client accepts
+ * gzip (see {@link SerializedResponse}), so both go into the tag. The default {@code Cache-Control} is added to
+ * successful bodies just before they are written, so a handler that sets its own keeps it.
+ * </p>
+ */
+@ControllerAdvice
+public class DatasetVersionInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+    private static final String VALIDATED = DatasetVersionInterceptor.class.getName() + ".VALIDATED";
+
+    private final BracketIndexProvider indexProvider;
+    private final String cacheControl;
+
+    public DatasetVersionInterceptor(BracketIndexProvider indexProvider,
+                                     @Value("${tax.http-cache.max-age-seconds:0}") long maxAgeSeconds) {
+        if (maxAgeSeconds < 0) {
+            throw new IllegalArgumentException("tax.http-cache.max-age-seconds must not be negative");
+        }
+        this.indexProvider = indexProvider;
+        // Data only changes on import, but imports are not scheduled, so shared caches revalidate by default
+        this.cacheControl = (maxAgeSeconds == 0
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).mustRevalidate())
+                .cachePublic()
+                .getHeaderValue();
+    }
+
+    @Override
+    public boolean preHandle(@NotNull HttpServletRequest request, @NotNull HttpServletResponse response,
+                             @NotNull Object handler) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+
+        BracketIndex index = indexProvider.current();
+        String etag = etag(index.version(), SerializedResponse.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // Sets ETag and Last-Modified, and the 304 status when the client's copy is current
+        long lastModified = index.version() == 0 ? -1 : index.lastModified().toEpochMilli();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return false;
+        }
+        request.setAttribute(VALIDATED, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public boolean supports(@NotNull MethodParameter returnType,
+                            @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, @NotNull MethodParameter returnType, @NotNull MediaType contentType,
+                                  @NotNull Class<? extends HttpMessageConverter<?>> converterType,
+                                  @NotNull ServerHttpRequest request, @NotNull ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse
+                && servletRequest.getServletRequest().getAttribute(VALIDATED) != null
+                && HttpStatus.valueOf(servletResponse.getServletResponse().getStatus()).is2xxSuccessful()
+                && !response.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        return body;
+    }
+
+    /**
+     * Returns the strong entity tag of a response built at the given dataset version.
+     */
+    static String etag(long version, boolean gzip) {
+        return "\"v" + version + (gzip ? "-gzip" : "") + "\"";
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A fully serialized JSON response body, with a gzip variant when compression pays off.
+ * <p>
+ * Instances are immutable and shared between requests; the arrays must not be modified.
+ * </p>
+ */
+public final class SerializedResponse {
+
+    /** Bodies shorter than this are sent uncompressed; gzip's framing would eat most of the saving. */
+    static final int MIN_GZIP_BYTES = 256;
+
+    private final byte[] json;
+    private final byte[] gzip;
+
+    private SerializedResponse(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Wraps a serialized body and precompresses it.
+     */
+    public static SerializedResponse of(byte[] json) {
+        byte[] gzip = json.length >= MIN_GZIP_BYTES ? gzip(json) : null;
+        return new SerializedResponse(json, gzip != null && gzip.length < json.length ? gzip : null);
+    }
+
+    public byte[] json() {
+        return json;
+    }
+
+    /**
+     * Returns the gzip-compressed body, or {@code null} if the body is sent uncompressed.
+     */
+    public byte[] gzip() {
+        return gzip;
+    }
+
+    /**
+     * Returns the number of bytes this response holds on to.
+     */
+    public long sizeBytes() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+
+    /**
+     * Builds a 200 response, choosing the gzip variant if the client accepts it.
+     *
+     * @param acceptEncoding the request's {@code Accept-Encoding} header, may be {@code null}
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip != null && acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+        }
+        return builder.body(json);
+    }
+
+    /**
+     * Returns whether an {@code Accept-Encoding} header allows gzip. An explicit {@code gzip} entry decides on
+     * its own; {@code *} only applies when gzip is not listed, so {@code gzip;q=0, *} refuses gzip
+     * (RFC 9110 §12.5.3).
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                return !isRefused(parts);
+            }
+            if (name.equals("*")) {
+                wildcard = !isRefused(parts);
+            }
+        }
+        return wildcard;
+    }
+
+    private static boolean isRefused(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2) && isZero(param.substring(2))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 32);
+        // Compressed once per dataset and served many times, so spend the extra CPU on the best ratio
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
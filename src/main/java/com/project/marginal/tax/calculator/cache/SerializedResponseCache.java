@@ -0,0 +1,174 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches the serialized JSON (and gzip) bodies of reference endpoints whose answers only change on import.
+ * <p>
+ * Entries belong to a generation tied to one {@link BracketIndex} snapshot. The first request that sees a new
+ * snapshot swaps in an empty generation, so an import invalidates every entry at once and no request can be
+ * served a body built from an older snapshot than the one it observed. Bodies are built from
+ * {@link BracketIndexProvider#current()}, which only moves forward, so an entry is never older than its
+ * generation.
+ * </p>
+ * <p>
+ * Keys must identify the endpoint and all of its parameters. A generation holds at most
+ * {@code tax.response-cache.max-entries} entries; beyond that, bodies are still serialized once per request
+ * but not stored. Concurrent misses for the same key in the same generation share one
+ * {@link SingleFlight} computation, so a burst of identical requests after a deploy or import builds and
+ * compresses the body once. Metrics are published as {@code tax.response.cache.*}.
+ * </p>
+ */
+@Component
+public class SerializedResponseCache {
+
+    private final ObjectMapper mapper;
+    private final BracketIndexProvider indexProvider;
+    private final int maxEntries;
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong bytes = new AtomicLong();
+    private final SingleFlight<FlightKey, SerializedResponse> flights = new SingleFlight<>();
+
+    private volatile Generation generation = new Generation(null);
+
+    public SerializedResponseCache(ObjectMapper mapper,
+                                   BracketIndexProvider indexProvider,
+                                   @Value("${tax.response-cache.max-entries:4096}") int maxEntries,
+                                   MeterRegistry registry) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("tax.response-cache.max-entries must not be negative");
+        }
+        this.mapper = mapper;
+        this.indexProvider = indexProvider;
+        this.maxEntries = maxEntries;
+        this.hits = Counter.builder("tax.response.cache.requests").tag("result", "hit")
+                .description("Reference responses served from the serialized cache")
+                .register(registry);
+        this.misses = Counter.builder("tax.response.cache.requests").tag("result", "miss")
+                .description("Reference responses serialized because they were not cached")
+                .register(registry);
+        Gauge.builder("tax.response.cache.entries", this, c -> c.generation.entries.size())
+                .description("Serialized responses cached for the current dataset")
+                .register(registry);
+        FunctionCounter.builder("tax.response.cache.coalesced", flights, SingleFlight::sharedCount)
+                .description("Reference response misses that joined an identical computation already in flight")
+                .register(registry);
+        Gauge.builder("tax.response.cache.bytes", bytes, AtomicLong::get)
+                .description("JSON and gzip bytes held by the serialized response cache")
+                .register(registry);
+    }
+
+    /**
+     * Returns the cached body for {@code key}, serializing the value from {@code body} on a miss. Exceptions
+     * thrown by {@code body} (e.g. an {@link IllegalArgumentException} for invalid parameters) propagate and
+     * nothing is cached; callers that joined the failed computation receive the same exception.
+     */
+    public SerializedResponse get(String key, Supplier<?> body) {
+        Generation current = currentGeneration();
+        SerializedResponse cached = current.entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        return flights.run(new FlightKey(current, key), () -> load(current, key, body));
+    }
+
+    private SerializedResponse load(Generation current, String key, Supplier<?> body) {
+        // A flight for this key may have stored its body just before this one started
+        SerializedResponse cached = current.entries.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        SerializedResponse response = SerializedResponse.of(serialize(body.get()));
+        if (current.entries.size() < maxEntries) {
+            SerializedResponse raced = current.entries.putIfAbsent(key, response);
+            if (raced != null) {
+                return raced;
+            }
+            if (current == generation) {
+                bytes.addAndGet(response.sizeBytes());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Drops every entry.
+     */
+    public void clear() {
+        generation = new Generation(indexProvider.current());
+        bytes.set(0);
+    }
+
+    public int size() {
+        return generation.entries.size();
+    }
+
+    private Generation currentGeneration() {
+        BracketIndex index = indexProvider.current();
+        Generation current = generation;
+        if (current.index != index) {
+            synchronized (this) {
+                current = generation;
+                if (current.index != index) {
+                    current = new Generation(index);
+                    generation = current;
+                    bytes.set(0);
+                }
+            }
+        }
+        return current;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    /**
+     * Scopes a flight to its generation (compared by identity), so a request that sees a new snapshot never
+     * joins a computation against an older one.
+     */
+    private record FlightKey(Generation generation, String key) {
+    }
+
+    private static final class Generation {
+        final BracketIndex index;
+        final ConcurrentHashMap<String, SerializedResponse> entries = new ConcurrentHashMap<>();
+
+        Generation(BracketIndex index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.client;
+
+import com.project.marginal.tax.calculator.dto.TaxBatch;
+import com.project.marginal.tax.calculator.dto.TaxBatchResult;
+import com.project.marginal.tax.calculator.utility.TaxBatchCodec;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Reference client for the binary {@code /api/v1/tax/simulate} batch format.
+ * <pre>
+ * TaxBatchClient client = new TaxBatchClient(URI.create("http://localhost:8080"));
+ * TaxBatchResult result = client.simulate(new TaxBatch(years, statusCodes, incomeCents));
+ * </pre>
+ * Instances are thread safe and should be reused.
+ */
+public class TaxBatchClient {
+
+    private final HttpClient http;
+    private final URI endpoint;
+
+    public TaxBatchClient(URI baseUri) {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(), baseUri);
+    }
+
+    public TaxBatchClient(HttpClient http, URI baseUri) {
+        this.http = http;
+        this.endpoint = baseUri.resolve("/api/v1/tax/simulate");
+    }
+
+    /**
+     * Sends the batch and returns the results, row for row.
+     *
+     * @throws IOException if the request fails or the server does not answer with a batch response
+     */
+    public TaxBatchResult simulate(TaxBatch batch) throws IOException, InterruptedException {
+        ByteBuffer body = TaxBatchCodec.encodeRequest(batch);
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .header("Content-Type", TaxBatchCodec.MEDIA_TYPE)
+                .header("Accept", TaxBatchCodec.MEDIA_TYPE + ", application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.array(), body.arrayOffset(), body.remaining()))
+                .build();
+
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Batch simulation failed with HTTP " + response.statusCode() + ": "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return TaxBatchCodec.decodeResponse(ByteBuffer.wrap(response.body()));
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.config;
+
+import com.project.marginal.tax.calculator.cache.DatasetVersionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class HttpCacheConfig implements WebMvcConfigurer {
+
+    private final DatasetVersionInterceptor datasetVersionInterceptor;
+
+    @Override
+    public void addInterceptors(@NotNull InterceptorRegistry registry) {
+        // Every read endpoint is derived from the imported dataset
+        registry.addInterceptor(datasetVersionInterceptor)
+                .addPathPatterns("/api/v1/tax/**", "/api/v2/tax/**");
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.controller;
+
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.engine.FixedPoint;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.exception.DatasetVersionUnavailableException;
+import com.project.marginal.tax.calculator.service.TaxService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Serves the cacheable {@code GET /breakdown} variants.
+ * <p>
+ * A breakdown is a pure function of year, status, income and dataset version, so each has exactly one canonical
+ * URL: {@code ?year=2021&status=S&income=50000&v=7}, with the income in plain dollars without trailing zeros
+ * and {@code v} the dataset version. Every response names it in {@code Content-Location}. A request for the
+ * canonical URL at this node's version can never change meaning and is served with an immutable, year-long
+ * {@code Cache-Control}. Any other spelling (formatted or padded income, other parameter order, a missing or
+ * older version) is answered directly with the usual revalidating headers. A version newer than this node
+ * holds, as happens while replicas catch up with an import, gets {@code 503} with {@code no-store}: the node
+ * cannot vouch for that URL, and bouncing the client between replicas would be worse.
+ * </p>
+ */
+final class CanonicalBreakdown {
+
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private CanonicalBreakdown() {
+    }
+
+    /**
+     * @param requestedVersion the {@code v} parameter, or {@code null} if absent
+     */
+    static <T> ResponseEntity<T> respond(HttpServletRequest request, TaxService service, int year, FilingStatus status,
+                                         String income, Long requestedVersion, Function<TaxInput, T> breakdown) {
+        TaxInput input = new TaxInput(year, status, income);
+        service.validateTaxInput(input);
+
+        long version = service.datasetVersion();
+        if (requestedVersion != null && requestedVersion > version) {
+            throw new DatasetVersionUnavailableException(requestedVersion, version);
+        }
+
+        T body = breakdown.apply(input);
+        String canonical = query(input, version);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_LOCATION, request.getRequestURI() + "?" + canonical);
+        // An import between the two reads may have served newer data than the URL names
+        if (requestedVersion != null && requestedVersion == version && canonical.equals(request.getQueryString())
+                && service.datasetVersion() == version) {
+            response.cacheControl(IMMUTABLE);
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Returns the canonical query string for the input at the given dataset version.
+     */
+    static String query(TaxInput input, long version) {
+        String income = FixedPoint.centsToDollars(input.getIncomeCents()).stripTrailingZeros().toPlainString();
+        return "year=" + input.getYear() + "&status=" + input.getStatus().name() + "&income=" + income
+                + "&v=" + version;
+    }
+}
@@ -11,18 +11,30 @@
 
 package com.project.marginal.tax.calculator.controller;
 
+import com.project.marginal.tax.calculator.cache.SerializedResponseCache;
 import com.project.marginal.tax.calculator.dto.*;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.service.SimulationStreamService;
 import com.project.marginal.tax.calculator.service.TaxDataImportService;
 import com.project.marginal.tax.calculator.service.TaxService;
+import com.project.marginal.tax.calculator.utility.TaxBatchCodec;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.List;
-import java.util.Map;
 
 
 @RestController
@@ -32,6 +44,8 @@ public class TaxController {
 
     private final TaxService service;
     private final TaxDataImportService importService;
+    private final SimulationStreamService streamService;
+    private final SerializedResponseCache responseCache;
 
     @PostMapping(
             path = "/upload",
@@ -52,20 +66,34 @@ public class TaxController {
     }
 
 
+    // The cached endpoints return serialized JSON; @ApiResponse documents the type it holds
     @GetMapping("/years")
-    public ResponseEntity<List<Integer>> getYears() {
-        return ResponseEntity.ok(service.listYears());
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = Integer.class))))
+    public ResponseEntity<byte[]> getYears(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.get("years", service::listYears).toResponseEntity(acceptEncoding);
+    }
+
+    @GetMapping("/years/availability")
+    public ResponseEntity<YearAvailabilityResponse> getYearAvailability() {
+        return ResponseEntity.ok(service.getYearAvailability());
     }
 
     @GetMapping("/filing-status")
-    public ResponseEntity<Map<String, String>> getFilingStatus() {
-        return ResponseEntity.ok(service.getFilingStatus());
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(type = "object", additionalPropertiesSchema = String.class)))
+    public ResponseEntity<byte[]> getFilingStatus(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return responseCache.get("filing-status", service::getFilingStatus).toResponseEntity(acceptEncoding);
     }
 
     @GetMapping("/rate")
-    public ResponseEntity<List<TaxRateDto>> getRate(@RequestParam int year,
-                                    @RequestParam(required = false) FilingStatus status) throws IllegalArgumentException {
-        return ResponseEntity.ok(service.getRates(year, status));
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TaxRateDto.class))))
+    public ResponseEntity<byte[]> getRate(@RequestParam int year,
+                                          @RequestParam(required = false) FilingStatus status,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IllegalArgumentException {
+        return responseCache.get("rate:" + year + ":" + status, () -> service.getRates(year, status))
+                .toResponseEntity(acceptEncoding);
     }
 
     @PostMapping("/breakdown")
@@ -73,9 +101,25 @@ public class TaxController {
         return ResponseEntity.ok(service.calculateTaxBreakdown(taxInput));
     }
 
+    /**
+     * Cacheable variant of {@link #getTaxBreakdown}; see {@link CanonicalBreakdown} for the URL scheme.
+     */
+    @GetMapping("/breakdown")
+    public ResponseEntity<TaxPaidResponse> getTaxBreakdown(HttpServletRequest request,
+                                                           @RequestParam int year,
+                                                           @RequestParam FilingStatus status,
+                                                           @RequestParam String income,
+                                                           @RequestParam(required = false) Long v) throws IllegalArgumentException {
+        return CanonicalBreakdown.respond(request, service, year, status, income, v, service::calculateTaxBreakdown);
+    }
+
     @GetMapping("/summary")
-    public ResponseEntity<TaxSummaryResponse> getSummary(@RequestParam int year, @RequestParam FilingStatus status) throws IllegalArgumentException {
-        return ResponseEntity.ok(service.getSummary(year, status));
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = TaxSummaryResponse.class)))
+    public ResponseEntity<byte[]> getSummary(@RequestParam int year, @RequestParam FilingStatus status,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IllegalArgumentException {
+        return responseCache.get("summary:" + year + ":" + status, () -> service.getSummary(year, status))
+                .toResponseEntity(acceptEncoding);
     }
 
     @GetMapping("/history")
@@ -86,8 +130,81 @@ public class TaxController {
         return ResponseEntity.ok(service.getHistory(status, metric, startYear, endYear));
     }
 
+    @GetMapping("/history/matrix")
+    public ResponseEntity<HistoryMatrixResponse> getHistoryMatrix(@RequestParam(required = false) List<FilingStatus> status,
+                                                                  @RequestParam(required = false) List<Metric> metric,
+                                                                  @RequestParam(required = false) Integer startYear,
+                                                                  @RequestParam(required = false) Integer endYear) throws IllegalArgumentException {
+        return ResponseEntity.ok(service.getHistoryMatrix(status, metric, startYear, endYear));
+    }
+
+    @GetMapping("/curve")
+    public ResponseEntity<TaxCurveResponse> getCurve(@RequestParam int year,
+                                                     @RequestParam FilingStatus status,
+                                                     @RequestParam(required = false) BigDecimal start,
+                                                     @RequestParam(required = false) BigDecimal step,
+                                                     @RequestParam(required = false) Integer count) throws IllegalArgumentException {
+        // Cached like every other read: revalidated against the dataset version (see DatasetVersionInterceptor)
+        return ResponseEntity.ok(service.getCurve(year, status, start, step, count));
+    }
+
+    @GetMapping("/compare-years")
+    public ResponseEntity<List<YearTaxResult>> compareYears(@RequestParam List<BigDecimal> income,
+                                                            @RequestParam(required = false) List<FilingStatus> status,
+                                                            @RequestParam(required = false) Integer startYear,
+                                                            @RequestParam(required = false) Integer endYear,
+                                                            @RequestParam(defaultValue = "YEAR") YearComparisonSort sort) throws IllegalArgumentException {
+        return ResponseEntity.ok(service.compareYears(income, status, startYear, endYear, sort));
+    }
+
+    @GetMapping("/solve")
+    public ResponseEntity<SolveResponse> solve(@RequestParam int year,
+                                               @RequestParam FilingStatus status,
+                                               @RequestParam SolveTarget target,
+                                               @RequestParam BigDecimal value) throws IllegalArgumentException {
+        return ResponseEntity.ok(service.solve(new SolveRequest(year, status, target, value)));
+    }
+
+    @PostMapping("/solve")
+    public ResponseEntity<List<SolveResponse>> solveAll(@RequestBody List<SolveRequest> requests) throws IllegalArgumentException {
+        return ResponseEntity.ok(service.solveAll(requests));
+    }
+
     @PostMapping("/simulate")
-    public ResponseEntity<List<TaxPaidResponse>> simulate(@RequestBody List<TaxInput> taxInputs) throws IllegalArgumentException {
-        return ResponseEntity.ok(service.simulateBulk(taxInputs));
+    public ResponseEntity<List<TaxPaidResponse>> simulate(@RequestBody List<TaxInput> taxInputs,
+                                                          @RequestParam(defaultValue = "true") boolean brackets) throws IllegalArgumentException {
+        return ResponseEntity.ok(brackets ? service.simulateBulk(taxInputs) : service.simulateTotals(taxInputs));
+    }
+
+    /**
+     * NDJSON variant of {@link #simulate}: one {@link TaxInput} per request line, one result per response line,
+     * written while the request is still being read.
+     */
+    @PostMapping(
+            path = "/simulate",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> simulateStream(HttpServletRequest request,
+                                                                @RequestParam(defaultValue = "true") boolean brackets) {
+        StreamingResponseBody body = out -> streamService.simulate(request.getInputStream(), out, brackets);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Binary variant of {@link #simulate} for machine-to-machine scoring; see {@link TaxBatchCodec} for the format.
+     */
+    @PostMapping(
+            path = "/simulate",
+            consumes = TaxBatchCodec.MEDIA_TYPE,
+            produces = TaxBatchCodec.MEDIA_TYPE
+    )
+    public ResponseEntity<byte[]> simulateBatch(@RequestBody byte[] body) throws IllegalArgumentException {
+        TaxBatchResult result = service.simulateColumns(TaxBatchCodec.decodeRequest(ByteBuffer.wrap(body)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(TaxBatchCodec.MEDIA_TYPE))
+                .body(TaxBatchCodec.encodeResponse(result).array());
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.controller;
+
+import com.project.marginal.tax.calculator.dto.RateBracket;
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.dto.TaxResult;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.service.TaxService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Raw numeric variant of the {@link TaxController} calculation endpoints: amounts are whole cents and rates are
+ * fractions, with no server-side string formatting. Clients format for display themselves.
+ */
+@RestController
+@RequestMapping("/api/v2/tax")
+@RequiredArgsConstructor
+public class TaxV2Controller {
+
+    private final TaxService service;
+
+    @GetMapping("/rate")
+    public ResponseEntity<List<RateBracket>> getRate(@RequestParam int year,
+                                                     @RequestParam(required = false) FilingStatus status) throws IllegalArgumentException {
+        return ResponseEntity.ok(service.getRateBrackets(year, status));
+    }
+
+    @PostMapping("/breakdown")
+    public ResponseEntity<TaxResult> getTaxBreakdown(@RequestBody TaxInput taxInput,
+                                                     @RequestParam(defaultValue = "true") boolean brackets) throws IllegalArgumentException {
+        return ResponseEntity.ok(brackets ? service.computeBreakdown(taxInput) : service.computeTotals(taxInput));
+    }
+
+    /**
+     * Cacheable variant of {@link #getTaxBreakdown}; see {@link CanonicalBreakdown} for the URL scheme.
+     */
+    @GetMapping("/breakdown")
+    public ResponseEntity<TaxResult> getTaxBreakdown(HttpServletRequest request,
+                                                     @RequestParam int year,
+                                                     @RequestParam FilingStatus status,
+                                                     @RequestParam String income,
+                                                     @RequestParam(required = false) Long v) throws IllegalArgumentException {
+        return CanonicalBreakdown.respond(request, service, year, status, income, v, service::computeBreakdown);
+    }
+
+    @PostMapping("/simulate")
+    public ResponseEntity<List<TaxResult>> simulate(@RequestBody List<TaxInput> taxInputs,
+                                                    @RequestParam(defaultValue = "true") boolean brackets) throws IllegalArgumentException {
+        return ResponseEntity.ok(brackets ? service.computeBulk(taxInputs) : service.computeBulkTotals(taxInputs));
+    }
+}
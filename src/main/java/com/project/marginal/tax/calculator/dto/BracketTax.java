@@ -0,0 +1,23 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+/**
+ * Tax owed within one bracket, as raw engine values: amounts in whole cents and the rate as a fraction.
+ * {@link TaxPaidInfo} is the formatted v1 view of the same line. The {@code taxPaidCents} of a breakdown's lines
+ * add up to its total exactly; each line is within a cent of the unrounded tax in its bracket.
+ */
+public record BracketTax(int year, FilingStatus status, long rangeStartCents, long rangeEndCents,
+                         double rate, long taxPaidCents) {
+}
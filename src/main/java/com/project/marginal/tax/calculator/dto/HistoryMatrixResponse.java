@@ -0,0 +1,28 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A year &times; status &times; metric matrix in columnar form: {@code values.get(status).get(metric)[i]} is the
+ * metric for {@code years.get(i)}, or {@code null} if that status has no brackets that year. Rates are fractions
+ * and amounts are dollars.
+ *
+ * @param noIncomeTax whether each year had no income tax
+ */
+public record HistoryMatrixResponse(List<Integer> years, List<FilingStatus> statuses, List<Metric> metrics,
+                                    boolean[] noIncomeTax, Map<FilingStatus, Map<Metric, Double[]>> values) {
+}
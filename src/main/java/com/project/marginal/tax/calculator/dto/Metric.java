@@ -11,10 +11,20 @@
 
 package com.project.marginal.tax.calculator.dto;
 
-
+/**
+ * Per-year aggregates over a schedule's brackets. Rates are fractions and thresholds and widths are dollars;
+ * bracket widths only cover the closed brackets.
+ */
 public enum Metric {
     TOP_RATE,
     AVERAGE_RATE,
     MIN_RATE,
     BRACKET_COUNT,
+    /** Income at which the top bracket starts. */
+    TOP_BRACKET_START,
+    MIN_BRACKET_WIDTH,
+    MAX_BRACKET_WIDTH,
+    AVERAGE_BRACKET_WIDTH,
+    /** Top rate minus the lowest rate. */
+    RATE_SPREAD,
 }
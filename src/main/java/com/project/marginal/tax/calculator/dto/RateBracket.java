@@ -0,0 +1,27 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+/**
+ * One bracket of a schedule, as raw values: bounds in whole cents and the rate as a fraction.
+ * {@code rangeEndCents} is {@code null} for the top bracket; {@code message} is set for years without income tax.
+ * {@link TaxRateDto} is the formatted v1 view.
+ */
+public record RateBracket(int year, FilingStatus status, long rangeStartCents, Long rangeEndCents, double rate,
+                          String message) {
+
+    public static RateBracket noIncomeTax(int year, FilingStatus status, String message) {
+        return new RateBracket(year, status, 0, null, 0, message);
+    }
+}
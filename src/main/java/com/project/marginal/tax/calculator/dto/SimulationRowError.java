@@ -0,0 +1,27 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Written in place of a result on the NDJSON {@code /simulate} stream when an input row cannot be evaluated.
+ */
+@Getter
+@AllArgsConstructor
+public class SimulationRowError {
+    /** One-based position of the input row in the request stream. */
+    private final long line;
+    private final String error;
+    private final String message;
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Asks for the smallest gross income at which {@code target} reaches {@code value} for a year and status.
+ */
+public record SolveRequest(Integer year, FilingStatus status, SolveTarget target, BigDecimal value) {
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.math.BigDecimal;
+
+import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.centsFormat;
+import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.percentFormat;
+
+/**
+ * The gross income that answers a {@link SolveRequest}, with the tax, net income and effective rate at that income.
+ * When the target cannot be reached, only {@code message} is set alongside the request fields.
+ */
+public record SolveResponse(Integer year, FilingStatus status, SolveTarget target, BigDecimal value,
+                            BigDecimal grossIncome, String totalTax, String netIncome, String avgRate,
+                            String message) {
+
+    public static SolveResponse solved(SolveRequest request, long grossCents, long taxCents) {
+        double avgRate = grossCents == 0 ? 0 : (double) taxCents / grossCents;
+        return new SolveResponse(request.year(), request.status(), request.target(), request.value(),
+                BigDecimal.valueOf(grossCents, 2),
+                centsFormat(taxCents),
+                centsFormat(grossCents - taxCents),
+                percentFormat(avgRate),
+                null);
+    }
+
+    public static SolveResponse unreachable(SolveRequest request, String message) {
+        return new SolveResponse(request.year(), request.status(), request.target(), request.value(),
+                null, null, null, null, message);
+    }
+}
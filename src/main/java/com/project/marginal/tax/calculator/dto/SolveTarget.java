@@ -0,0 +1,24 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+/**
+ * What a {@link SolveRequest} asks the gross income for.
+ */
+public enum SolveTarget {
+    /** Total tax owed, in dollars. */
+    TAX,
+    /** Income after tax, in dollars. */
+    NET_INCOME,
+    /** Effective (average) rate, as a fraction, e.g. 0.18. */
+    EFFECTIVE_RATE,
+}
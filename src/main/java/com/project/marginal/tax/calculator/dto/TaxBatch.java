@@ -0,0 +1,80 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.util.List;
+
+/**
+ * Column-oriented batch of tax scenarios for the binary {@code /simulate} format: row {@code i} is
+ * {@code (years[i], statusCodes[i], incomeCents[i])}.
+ * <p>
+ * Filing statuses travel as the fixed codes in {@link #STATUS_CODES}, independent of the enum's declaration
+ * order.
+ * </p>
+ */
+public final class TaxBatch {
+
+    /** Wire code of each filing status: the code is the index in this list. */
+    public static final List<FilingStatus> STATUS_CODES = List.of(
+            FilingStatus.S, FilingStatus.HOH, FilingStatus.MFJ, FilingStatus.MFS);
+
+    private final short[] years;
+    private final byte[] statusCodes;
+    private final long[] incomeCents;
+
+    public TaxBatch(short[] years, byte[] statusCodes, long[] incomeCents) {
+        if (years.length != statusCodes.length || years.length != incomeCents.length) {
+            throw new IllegalArgumentException("Batch columns must have the same length");
+        }
+        this.years = years;
+        this.statusCodes = statusCodes;
+        this.incomeCents = incomeCents;
+    }
+
+    public static byte statusCode(FilingStatus status) {
+        return (byte) STATUS_CODES.indexOf(status);
+    }
+
+    public int size() {
+        return years.length;
+    }
+
+    public int year(int row) {
+        return years[row];
+    }
+
+    /**
+     * Returns the filing status of the given row, or {@code null} if its code is unknown.
+     */
+    public FilingStatus status(int row) {
+        int code = statusCodes[row];
+        return code >= 0 && code < STATUS_CODES.size() ? STATUS_CODES.get(code) : null;
+    }
+
+    public long incomeCents(int row) {
+        return incomeCents[row];
+    }
+
+    public short[] getYears() {
+        return years;
+    }
+
+    public byte[] getStatusCodes() {
+        return statusCodes;
+    }
+
+    public long[] getIncomeCents() {
+        return incomeCents;
+    }
+}
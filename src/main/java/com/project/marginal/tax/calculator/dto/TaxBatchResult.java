@@ -0,0 +1,79 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+/**
+ * Column-oriented results of a {@link TaxBatch}: row {@code i} answers row {@code i} of the request.
+ * <p>
+ * Rates are in basis points (1/100 of a percent), rounded half up. Rows whose {@link #getRowStatus() status}
+ * is not {@link #ROW_OK} have zero amounts.
+ * </p>
+ */
+public final class TaxBatchResult {
+
+    public static final byte ROW_OK = 0;
+    /** The year had no federal income tax. */
+    public static final byte ROW_NO_INCOME_TAX = 1;
+    /** The row failed validation (year, status or income) or no schedule applies to it. */
+    public static final byte ROW_INVALID = 2;
+
+    private final long[] totalCents;
+    private final int[] avgRateBp;
+    private final int[] marginalRateBp;
+    private final byte[] rowStatus;
+
+    public TaxBatchResult(int size) {
+        this(new long[size], new int[size], new int[size], new byte[size]);
+    }
+
+    public TaxBatchResult(long[] totalCents, int[] avgRateBp, int[] marginalRateBp, byte[] rowStatus) {
+        int n = totalCents.length;
+        if (avgRateBp.length != n || marginalRateBp.length != n || rowStatus.length != n) {
+            throw new IllegalArgumentException("Batch columns must have the same length");
+        }
+        this.totalCents = totalCents;
+        this.avgRateBp = avgRateBp;
+        this.marginalRateBp = marginalRateBp;
+        this.rowStatus = rowStatus;
+    }
+
+    public int size() {
+        return totalCents.length;
+    }
+
+    public void set(int row, long totalCents, int avgRateBp, int marginalRateBp) {
+        this.totalCents[row] = totalCents;
+        this.avgRateBp[row] = avgRateBp;
+        this.marginalRateBp[row] = marginalRateBp;
+        this.rowStatus[row] = ROW_OK;
+    }
+
+    public void setRowStatus(int row, byte status) {
+        this.rowStatus[row] = status;
+    }
+
+    public long[] getTotalCents() {
+        return totalCents;
+    }
+
+    public int[] getAvgRateBp() {
+        return avgRateBp;
+    }
+
+    public int[] getMarginalRateBp() {
+        return marginalRateBp;
+    }
+
+    public byte[] getRowStatus() {
+        return rowStatus;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The tax function of one schedule: its exact breakpoints and, optionally, its values over an income grid.
+ * <p>
+ * Between two consecutive breakpoints, total tax grows linearly at the earlier point's marginal rate, so the
+ * breakpoints alone describe the whole curve. Money is in dollars and rates are fractions.
+ * </p>
+ */
+public record TaxCurveResponse(Integer year, FilingStatus status, List<Point> breakpoints, Grid grid,
+                               String message) {
+
+    /**
+     * A knot of the tax function: the tax owed at {@code income} and the marginal rate that applies above it.
+     */
+    public record Point(BigDecimal income, BigDecimal totalTax, double effectiveRate, double marginalRate) {
+    }
+
+    /**
+     * The tax function sampled at {@code income[i]}, column by column.
+     */
+    public record Grid(BigDecimal[] income, BigDecimal[] totalTax, double[] effectiveRate, double[] marginalRate) {
+    }
+
+    public static TaxCurveResponse noIncomeTax(Integer year, FilingStatus status, Grid grid, String message) {
+        return new TaxCurveResponse(year, status, List.of(), grid, message);
+    }
+}
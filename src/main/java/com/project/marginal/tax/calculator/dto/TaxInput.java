@@ -11,18 +11,33 @@
 
 package com.project.marginal.tax.calculator.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A single tax scenario: year, filing status and income.
+ * <p>
+ * The income is kept as the exact decimal the caller sent, so large incomes are not rounded through
+ * {@code float} before they reach the calculation engine; {@link #getIncome()} is a convenience view.
+ * </p>
+ */
 @NoArgsConstructor
 @Setter
 @Getter
 public class TaxInput {
     private Integer year;
     private FilingStatus status;
-    private Float income;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BigDecimal income;
 
     public TaxInput(Integer year, FilingStatus status, String income) {
         this.year = year;
@@ -30,16 +45,47 @@ public class TaxInput {
         this.income = parseIncome(income);
     }
 
-    private float parseIncome(String income) {
+    private BigDecimal parseIncome(String income) {
         if (income == null || income.isBlank()){
             throw new IllegalArgumentException("Income must be provided");
         }
         String parsedIncome = income.replaceAll("[$,\\s]", "");
         try {
-            return Float.parseFloat(parsedIncome);
+            return new BigDecimal(parsedIncome);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Invalid income format: " + income, e);
         }
     }
 
+    public Float getIncome() {
+        return income == null ? null : income.floatValue();
+    }
+
+    public void setIncome(Float income) {
+        this.income = income == null ? null : new BigDecimal(Float.toString(income));
+    }
+
+    @JsonSetter("income")
+    public void setIncome(BigDecimal income) {
+        this.income = income;
+    }
+
+    /**
+     * Returns the exact income as sent by the caller, or {@code null} if none was provided.
+     */
+    @JsonIgnore
+    public BigDecimal getIncomeAmount() {
+        return income;
+    }
+
+    /**
+     * Returns the income in whole cents, rounded half up.
+     *
+     * @throws ArithmeticException if the income does not fit in a {@code long}
+     */
+    @JsonIgnore
+    public long getIncomeCents() {
+        return income.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
 }
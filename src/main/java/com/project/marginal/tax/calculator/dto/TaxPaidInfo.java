@@ -12,8 +12,10 @@
 package com.project.marginal.tax.calculator.dto;
 
 import com.project.marginal.tax.calculator.entity.FilingStatus;
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.centsFormat;
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.dollarFormat;
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.percentFormat;
 
@@ -21,35 +23,87 @@ import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.perc
  * Represents the tax paid information for a specific year and filing status.
  * <p>
  * This class is used to explain the tax paid information per bracket for a given year and filing status.
+ * A line created from a {@link BracketTax} formats its strings on first access, so the formatting cost is
+ * only paid when the v1 view is actually serialized.
  * </p>
  */
 @Getter
 public class TaxPaidInfo {
     private final Integer year;
     private final FilingStatus status;
-    private final String rangeStart;
-    private final String rangeEnd;
-    private final String taxRate;
-    private final String taxPaid;
+    @Getter(AccessLevel.NONE)
+    private final BracketTax source;
+    @Getter(AccessLevel.NONE)
+    private String rangeStart;
+    @Getter(AccessLevel.NONE)
+    private String rangeEnd;
+    @Getter(AccessLevel.NONE)
+    private String taxRate;
+    @Getter(AccessLevel.NONE)
+    private String taxPaid;
 
     public TaxPaidInfo(int year, FilingStatus status, float rangeStart, float rangeEnd, float taxRate, float taxPaid) {
         this.year = year;
         this.status = status;
+        this.source = null;
         this.rangeStart = dollarFormat(rangeStart);
         this.rangeEnd = dollarFormat(rangeEnd);
         this.taxRate = percentFormat(taxRate);
         this.taxPaid = dollarFormat(taxPaid);
     }
 
+    private TaxPaidInfo(BracketTax source) {
+        this.year = source.year();
+        this.status = source.status();
+        this.source = source;
+    }
+
+    /**
+     * Creates the formatted view of a raw bracket line.
+     */
+    public static TaxPaidInfo of(BracketTax source) {
+        return new TaxPaidInfo(source);
+    }
+
+    // The lazily formatted fields are written at most once per value; a racing reader just formats again
+
+    public String getRangeStart() {
+        if (rangeStart == null) {
+            rangeStart = centsFormat(source.rangeStartCents());
+        }
+        return rangeStart;
+    }
+
+    public String getRangeEnd() {
+        if (rangeEnd == null) {
+            rangeEnd = centsFormat(source.rangeEndCents());
+        }
+        return rangeEnd;
+    }
+
+    public String getTaxRate() {
+        if (taxRate == null) {
+            taxRate = percentFormat(source.rate());
+        }
+        return taxRate;
+    }
+
+    public String getTaxPaid() {
+        if (taxPaid == null) {
+            taxPaid = centsFormat(source.taxPaidCents());
+        }
+        return taxPaid;
+    }
+
     @Override
     public String toString() {
         return "TaxPaidInfo{" +
                 "year='" + year + '\'' +
                 ", status='" + status + '\'' +
-                ", rangeStart='" + rangeStart + '\'' +
-                ", rangeEnd='" + rangeEnd + '\'' +
-                ", taxRate='" + taxRate + '\'' +
-                ", taxPaid='" + taxPaid + '\'' +
+                ", rangeStart='" + getRangeStart() + '\'' +
+                ", rangeEnd='" + getRangeEnd() + '\'' +
+                ", taxRate='" + getTaxRate() + '\'' +
+                ", taxPaid='" + getTaxPaid() + '\'' +
                 '}';
     }
 }
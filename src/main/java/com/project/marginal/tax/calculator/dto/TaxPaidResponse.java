@@ -11,19 +11,30 @@
 
 package com.project.marginal.tax.calculator.dto;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.centsFormat;
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.dollarFormat;
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.percentFormat;
 
+/**
+ * The formatted (v1) view of a {@link TaxResult}. A response created with {@link #of(TaxResult)} formats its
+ * amounts on first access.
+ */
 @Getter
 public class TaxPaidResponse {
     private final List<TaxPaidInfo> brackets;
-    private final String totalTaxPaid;
-    private final String avgRate;
+    @Getter(AccessLevel.NONE)
+    private final TaxResult source;
+    @Getter(AccessLevel.NONE)
+    private String totalTaxPaid;
+    @Getter(AccessLevel.NONE)
+    private String avgRate;
     private final String message;
 
     public TaxPaidResponse(List<TaxPaidInfo> brackets, float totalTaxPaid, float avgRate) {
@@ -32,13 +43,45 @@ public class TaxPaidResponse {
 
     public TaxPaidResponse(List<TaxPaidInfo> brackets, float totalTaxPaid, float avgRate, String message) {
         this.brackets = brackets;
+        this.source = null;
         this.totalTaxPaid = dollarFormat(totalTaxPaid);
         this.avgRate = percentFormat(avgRate);
         this.message = message;
     }
 
+    private TaxPaidResponse(TaxResult source) {
+        List<TaxPaidInfo> infos = new ArrayList<>(source.brackets().size());
+        for (BracketTax bracket : source.brackets()) {
+            infos.add(TaxPaidInfo.of(bracket));
+        }
+        this.brackets = infos;
+        this.source = source;
+        this.message = source.message();
+    }
+
+    /**
+     * Creates the formatted view of a raw result.
+     */
+    public static TaxPaidResponse of(TaxResult source) {
+        return new TaxPaidResponse(source);
+    }
+
     public static TaxPaidResponse noIncomeTax(String message) {
         return new TaxPaidResponse(Collections.emptyList(), 0f, 0f, message);
     }
 
+    public String getTotalTaxPaid() {
+        if (totalTaxPaid == null) {
+            totalTaxPaid = centsFormat(source.totalTaxCents());
+        }
+        return totalTaxPaid;
+    }
+
+    public String getAvgRate() {
+        if (avgRate == null) {
+            avgRate = percentFormat(source.avgRate());
+        }
+        return avgRate;
+    }
+
 }
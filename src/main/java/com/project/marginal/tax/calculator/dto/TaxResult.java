@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import java.util.List;
+
+/**
+ * Tax owed on one income, as raw engine values: amounts in whole cents and the average rate as a fraction.
+ * {@code brackets} is empty when only totals were requested; {@code message} is set for years without income
+ * tax. {@link TaxPaidResponse} is the formatted v1 view of the same result.
+ */
+public record TaxResult(long incomeCents, long totalTaxCents, double avgRate, List<BracketTax> brackets,
+                        String message) {
+
+    /**
+     * Creates a result from fixed-point engine values; the average rate is derived from the exact cents.
+     */
+    public static TaxResult ofCents(List<BracketTax> brackets, long totalTaxCents, long incomeCents) {
+        double avgRate = incomeCents == 0 ? 0 : (double) totalTaxCents / incomeCents;
+        return new TaxResult(incomeCents, totalTaxCents, avgRate, brackets, null);
+    }
+
+    public static TaxResult noIncomeTax(long incomeCents, String message) {
+        return new TaxResult(incomeCents, 0, 0, List.of(), message);
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.util.Map;
+
+/**
+ * Which years have data, in columnar form: {@code available.get(status)[i]} tells whether {@code years[i]} has
+ * brackets for that status.
+ *
+ * @param noIncomeTax whether each year had no income tax
+ */
+public record YearAvailabilityResponse(int[] years, boolean[] noIncomeTax, Map<FilingStatus, boolean[]> available) {
+}
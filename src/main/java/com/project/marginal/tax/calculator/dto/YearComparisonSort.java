@@ -0,0 +1,22 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+/**
+ * Order of the rows returned by the cross-year comparison.
+ */
+public enum YearComparisonSort {
+    /** By year, then filing status, then income, as requested. */
+    YEAR,
+    /** Highest effective rate first; ties by year. */
+    BURDEN,
+}
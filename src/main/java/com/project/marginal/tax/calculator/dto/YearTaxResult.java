@@ -0,0 +1,28 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.dto;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Tax on one income under one year's schedule for one filing status. Money is in dollars and rates are fractions;
+ * {@code message} is set for years without income tax.
+ */
+public record YearTaxResult(int year, FilingStatus status, BigDecimal income, BigDecimal totalTax,
+                            double effectiveRate, double marginalRate, String message) {
+
+    public static YearTaxResult noIncomeTax(int year, FilingStatus status, BigDecimal income, String message) {
+        return new YearTaxResult(year, status, income, BigDecimal.ZERO.setScale(2), 0, 0, message);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes totals for many incomes against one {@link TaxSchedule}.
+ * <p>
+ * When the JVM is started with {@code --add-modules jdk.incubator.vector}, the batch is evaluated with the
+ * JDK Vector API, several incomes per instruction; otherwise each income goes through
+ * {@link TaxSchedule#totalTaxCents(long)}. Both paths do the same integer arithmetic and return identical
+ * results.
+ * </p>
+ */
+public final class BatchEvaluator {
+    private static final Logger log = LoggerFactory.getLogger(BatchEvaluator.class);
+
+    private static final boolean VECTOR_AVAILABLE = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    static {
+        log.info("Batch tax evaluation is {}", VECTOR_AVAILABLE ? "vectorized" : "scalar (jdk.incubator.vector not enabled)");
+    }
+
+    private BatchEvaluator() {
+    }
+
+    /**
+     * Returns whether batches are evaluated with the Vector API.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Returns the total tax owed on each income, rounded half up to cents.
+     *
+     * @param schedule    the schedule every income is evaluated against
+     * @param incomeCents the incomes, each between 0 and {@link FixedPoint#MAX_INCOME_CENTS}
+     * @return the totals, in the same order as the incomes
+     * @throws IllegalArgumentException if an income is out of range
+     */
+    public static long[] totalTaxCents(TaxSchedule schedule, long[] incomeCents) {
+        for (long income : incomeCents) {
+            if (income < 0 || income > FixedPoint.MAX_INCOME_CENTS) {
+                throw new IllegalArgumentException("Income out of range: " + income + " cents");
+            }
+        }
+        return VECTOR_AVAILABLE
+                ? VectorBatchKernel.totalTaxCents(schedule, incomeCents)
+                : totalTaxCentsScalar(schedule, incomeCents);
+    }
+
+    static long[] totalTaxCentsScalar(TaxSchedule schedule, long[] incomeCents) {
+        long[] totals = new long[incomeCents.length];
+        for (int i = 0; i < incomeCents.length; i++) {
+            totals[i] = schedule.totalTaxCents(incomeCents[i]);
+        }
+        return totals;
+    }
+}
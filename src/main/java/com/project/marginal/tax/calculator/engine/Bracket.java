@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.TaxRate;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of a single {@link TaxRate} row, detached from the persistence context.
+ *
+ * @param rangeStart the start of the income range for this bracket
+ * @param rangeEnd   the end of the income range, or {@code null} for the top bracket
+ * @param rate       the tax rate as a fraction (e.g., 0.10 for 10%)
+ */
+public record Bracket(BigDecimal rangeStart, BigDecimal rangeEnd, float rate) {
+
+    public static Bracket of(TaxRate taxRate) {
+        return new Bracket(taxRate.getRangeStart(), taxRate.getRangeEnd(), taxRate.getRate());
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+/**
+ * Column storage for every bracket in a {@link BracketIndex}.
+ * <p>
+ * All schedules share one set of primitive arrays: schedule {@code k} occupies a contiguous slice
+ * starting at its offset, ordered by year and then filing status. Evaluating a schedule therefore walks a
+ * few adjacent cache lines instead of chasing references through entity objects.
+ * </p>
+ */
+final class BracketColumns {
+
+    /** Array header size assumed by {@link #columnBytesEstimate()} (64-bit JVM, compressed oops). */
+    static final int ARRAY_HEADER_BYTES = 16;
+
+    final long[] startCents;
+    final long[] endCents;
+    final int[] rateMicros;
+    final long[] cumulativeMicros;
+
+    BracketColumns(int size) {
+        this.startCents = new long[size];
+        this.endCents = new long[size];
+        this.rateMicros = new int[size];
+        this.cumulativeMicros = new long[size];
+    }
+
+    int size() {
+        return rateMicros.length;
+    }
+
+    /**
+     * Estimates the heap size of the four column arrays, including array headers and alignment padding.
+     * Nothing else held by the index is counted.
+     */
+    long columnBytesEstimate() {
+        return 3 * arrayBytes(startCents.length, Long.BYTES) + arrayBytes(rateMicros.length, Integer.BYTES);
+    }
+
+    static long arrayBytes(int length, int elementBytes) {
+        long raw = ARRAY_HEADER_BYTES + (long) length * elementBytes;
+        return (raw + 7) & ~7L;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of every tax schedule, keyed by year and filing status.
+ * <p>
+ * The index is built in one pass from the repository contents and never modified afterwards; a new
+ * snapshot is built and published as a whole after each import, so read paths never touch the database.
+ * </p>
+ * <p>
+ * The brackets of every schedule are packed into one set of primitive columns (see {@link BracketColumns}),
+ * so the calculator iterates {@code long}/{@code int} arrays rather than entity objects.
+ * </p>
+ * <p>
+ * Each schedule's {@link ScheduleMetrics} are taken from the precomputed {@code year_status_metrics} rows, which
+ * every import rebuilds in its own transaction and which are read once per snapshot, so {@code /summary} and
+ * {@code /history} serve the table without a query per request. A schedule without a row falls back to
+ * metrics computed from its brackets.
+ * </p>
+ * <p>
+ * A snapshot carries the dataset version it was loaded at (see {@link #withVersion}), which HTTP caching
+ * derives its validators from.
+ * </p>
+ */
+public final class BracketIndex {
+
+    private static final BracketIndex EMPTY = new BracketIndex(Map.of(), Map.of(), Set.of(), new TreeMap<>(), 0, 0, 0,
+            new BracketColumns(0));
+
+    private final Map<Integer, Map<FilingStatus, TaxSchedule>> schedules;
+    private final Map<Integer, Map<FilingStatus, ScheduleMetrics>> metrics;
+    private final NavigableMap<Integer, String> noTaxYears;
+    private final YearCatalog catalog;
+    private final int bracketCount;
+    private final int scheduleCount;
+    private final int storedMetricsCount;
+    private final BracketColumns columns;
+    private final long version;
+    private final Instant lastModified;
+
+    private BracketIndex(Map<Integer, Map<FilingStatus, TaxSchedule>> schedules,
+                         Map<Integer, Map<FilingStatus, ScheduleMetrics>> metrics,
+                         Set<Integer> bracketYears,
+                         NavigableMap<Integer, String> noTaxYears,
+                         int bracketCount,
+                         int scheduleCount,
+                         int storedMetricsCount,
+                         BracketColumns columns) {
+        this.schedules = schedules;
+        this.metrics = metrics;
+        this.noTaxYears = Collections.unmodifiableNavigableMap(noTaxYears);
+        this.catalog = YearCatalog.of(bracketYears, schedules, noTaxYears.keySet());
+        this.bracketCount = bracketCount;
+        this.scheduleCount = scheduleCount;
+        this.storedMetricsCount = storedMetricsCount;
+        this.columns = columns;
+        this.version = 0;
+        this.lastModified = Instant.EPOCH;
+    }
+
+    private BracketIndex(BracketIndex data, long version, Instant lastModified) {
+        this.schedules = data.schedules;
+        this.metrics = data.metrics;
+        this.noTaxYears = data.noTaxYears;
+        this.catalog = data.catalog;
+        this.bracketCount = data.bracketCount;
+        this.scheduleCount = data.scheduleCount;
+        this.storedMetricsCount = data.storedMetricsCount;
+        this.columns = data.columns;
+        this.version = version;
+        this.lastModified = lastModified;
+    }
+
+    public static BracketIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from the given rows. The inputs are copied; later changes to them are not reflected.
+     *
+     * @param taxRates   every bracket row
+     * @param noTaxYears every year without income tax
+     * @return the new snapshot
+     */
+    public static BracketIndex of(Collection<TaxRate> taxRates, Collection<NoIncomeTaxYear> noTaxYears) {
+        return of(taxRates, noTaxYears, List.of());
+    }
+
+    /**
+     * Builds a snapshot from the given rows, taking schedule metrics from {@code storedMetrics} where a row
+     * exists and computing them from the brackets otherwise.
+     *
+     * @param storedMetrics the precomputed metrics rows, possibly incomplete
+     */
+    public static BracketIndex of(Collection<TaxRate> taxRates, Collection<NoIncomeTaxYear> noTaxYears,
+                                  Collection<YearStatusMetrics> storedMetrics) {
+        Map<YearStatusMetrics.Key, YearStatusMetrics> stored = new HashMap<>();
+        for (YearStatusMetrics row : storedMetrics) {
+            stored.put(new YearStatusMetrics.Key(row.getYear(), row.getStatus()), row);
+        }
+
+        Set<Integer> bracketYears = taxRates.stream()
+                .map(TaxRate::getYear)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<Integer, Map<FilingStatus, List<Bracket>>> grouped = taxRates.stream()
+                .filter(r -> r.getYear() != null && r.getStatus() != null)
+                .collect(Collectors.groupingBy(
+                        TaxRate::getYear,
+                        TreeMap::new,
+                        Collectors.groupingBy(
+                                TaxRate::getStatus,
+                                () -> new EnumMap<>(FilingStatus.class),
+                                Collectors.mapping(Bracket::of, Collectors.toList()))));
+
+        int packed = grouped.values().stream()
+                .flatMap(byStatus -> byStatus.values().stream())
+                .mapToInt(List::size)
+                .sum();
+        BracketColumns columns = new BracketColumns(packed);
+
+        // Lay schedules out by year, then status, so neighbouring lookups share cache lines
+        Map<Integer, Map<FilingStatus, TaxSchedule>> schedules = new HashMap<>();
+        Map<Integer, Map<FilingStatus, ScheduleMetrics>> metrics = new HashMap<>();
+        int offset = 0;
+        int scheduleCount = 0;
+        int storedMetricsCount = 0;
+        for (Map.Entry<Integer, Map<FilingStatus, List<Bracket>>> byYear : grouped.entrySet()) {
+            EnumMap<FilingStatus, TaxSchedule> perStatus = new EnumMap<>(FilingStatus.class);
+            EnumMap<FilingStatus, ScheduleMetrics> metricsPerStatus = new EnumMap<>(FilingStatus.class);
+            for (Map.Entry<FilingStatus, List<Bracket>> byStatus : byYear.getValue().entrySet()) {
+                List<Bracket> brackets = TaxSchedule.sorted(byStatus.getValue());
+                perStatus.put(byStatus.getKey(),
+                        new TaxSchedule(byYear.getKey(), byStatus.getKey(), brackets, columns, offset));
+                offset += brackets.size();
+                scheduleCount++;
+
+                ScheduleMetrics computed = ScheduleMetrics.of(brackets);
+                YearStatusMetrics row = stored.get(new YearStatusMetrics.Key(byYear.getKey(), byStatus.getKey()));
+                if (row != null) {
+                    metricsPerStatus.put(byStatus.getKey(), computed.withStored(row));
+                    storedMetricsCount++;
+                } else {
+                    metricsPerStatus.put(byStatus.getKey(), computed);
+                }
+            }
+            schedules.put(byYear.getKey(), Collections.unmodifiableMap(perStatus));
+            metrics.put(byYear.getKey(), Collections.unmodifiableMap(metricsPerStatus));
+        }
+
+        NavigableMap<Integer, String> noTax = new TreeMap<>();
+        for (NoIncomeTaxYear y : noTaxYears) {
+            noTax.put(y.getYear(), y.getMessage());
+        }
+
+        return new BracketIndex(Collections.unmodifiableMap(schedules), Collections.unmodifiableMap(metrics),
+                bracketYears, noTax, taxRates.size(), scheduleCount, storedMetricsCount, columns);
+    }
+
+    /**
+     * Returns a snapshot of the same data labelled with the given dataset version. Snapshots built by
+     * {@link #of} are at version 0.
+     *
+     * @param version      the dataset version the rows were read at
+     * @param lastModified when that version was committed
+     */
+    public BracketIndex withVersion(long version, Instant lastModified) {
+        return new BracketIndex(this, version, Objects.requireNonNull(lastModified));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant lastModified() {
+        return lastModified;
+    }
+
+    public Optional<TaxSchedule> schedule(int year, FilingStatus status) {
+        return Optional.ofNullable(schedules.getOrDefault(year, Map.of()).get(status));
+    }
+
+    /**
+     * Returns the metrics of the schedule for the given year and status, if it has brackets.
+     */
+    public Optional<ScheduleMetrics> metrics(int year, FilingStatus status) {
+        return Optional.ofNullable(metrics.getOrDefault(year, Map.of()).get(status));
+    }
+
+    /**
+     * Returns every schedule for the given year, in {@link FilingStatus} declaration order.
+     */
+    public Collection<TaxSchedule> schedules(int year) {
+        return schedules.getOrDefault(year, Map.of()).values();
+    }
+
+    public boolean isNoTaxYear(int year) {
+        return catalog.isNoTaxYear(year);
+    }
+
+    public Optional<String> noTaxMessage(int year) {
+        return Optional.ofNullable(noTaxYears.get(year));
+    }
+
+    /**
+     * Returns the years without income tax, in ascending order.
+     */
+    public NavigableSet<Integer> noTaxYears() {
+        return noTaxYears.navigableKeySet();
+    }
+
+    /**
+     * Returns the distinct years that have either brackets or a no-income-tax entry, in ascending order.
+     */
+    public List<Integer> years() {
+        return catalog.years();
+    }
+
+    /**
+     * Returns the years that have brackets for the given filing status, in ascending order.
+     */
+    public List<Integer> years(FilingStatus status) {
+        return catalog.years(status);
+    }
+
+    public YearCatalog catalog() {
+        return catalog;
+    }
+
+    public int bracketCount() {
+        return bracketCount;
+    }
+
+    public int scheduleCount() {
+        return scheduleCount;
+    }
+
+    /**
+     * Returns how many schedules took their metrics from the stored rows rather than computing them.
+     */
+    public int storedMetricsCount() {
+        return storedMetricsCount;
+    }
+
+    /**
+     * Returns the number of brackets held in the packed columns, i.e. every bracket with a year and status.
+     */
+    public int packedBracketCount() {
+        return columns.size();
+    }
+
+    /**
+     * Estimates the heap size, in bytes, of the packed bracket columns the calculator iterates.
+     * <p>
+     * This covers the column arrays only. The {@link Bracket} lists each {@link TaxSchedule} keeps for the
+     * response DTOs, the schedule and metrics objects and the lookup maps are not included, so the index as
+     * a whole takes noticeably more heap than this.
+     * </p>
+     */
+    public long columnBytesEstimate() {
+        return columns.columnBytesEstimate();
+    }
+
+    @Override
+    public String toString() {
+        return "BracketIndex{" +
+                "version=" + version +
+                ", years=" + catalog.size() +
+                ", noTaxYears=" + noTaxYears.size() +
+                ", schedules=" + scheduleCount +
+                ", brackets=" + bracketCount +
+                ", storedMetrics=" + storedMetricsCount +
+                ", columnBytesEstimate=" + columns.columnBytesEstimate() +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between the decimal values stored in the database and the fixed-point integers the
+ * calculation engine works in.
+ * <ul>
+ *     <li>Amounts are whole cents in a {@code long}.</li>
+ *     <li>Rates are millionths (basis points &times; 100) in an {@code int}, e.g. 24% is 240,000.</li>
+ *     <li>Intermediate tax amounts are cents &times; {@link #RATE_SCALE} ("micro-cents"), so a bracket's
+ *     tax is an exact integer product and rounding happens once, when converting back to cents.</li>
+ * </ul>
+ */
+public final class FixedPoint {
+
+    /** Scale of a rate: 1,000,000 is 100%. */
+    public static final int RATE_SCALE = 1_000_000;
+
+    /**
+     * Largest supported income, $10,000,000,000.00. Keeps every micro-cent product below {@code Long.MAX_VALUE}.
+     */
+    public static final long MAX_INCOME_CENTS = 1_000_000_000_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Converts a dollar amount to whole cents, rounding half up.
+     *
+     * @throws ArithmeticException if the amount does not fit in a {@code long}
+     */
+    public static long toCents(BigDecimal dollars) {
+        return dollars.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a fractional rate (e.g. 0.24f) to millionths, rounding to the nearest millionth.
+     */
+    public static int toRateMicros(float rate) {
+        return (int) Math.round((double) rate * RATE_SCALE);
+    }
+
+    /**
+     * Rounds a non-negative micro-cent amount to whole cents, half up.
+     */
+    public static long microsToCents(long micros) {
+        return (micros + RATE_SCALE / 2) / RATE_SCALE;
+    }
+
+    public static BigDecimal centsToDollars(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static double rateOf(int rateMicros) {
+        return (double) rateMicros / RATE_SCALE;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Aggregates over the brackets of one schedule, as reported by the summary and history endpoints.
+ * <p>
+ * Bracket widths are taken over the closed brackets only; the top bracket has no width.
+ * </p>
+ *
+ * @param maxThreshold   the highest bracket end, or zero if every bracket is open-ended
+ * @param topBracketStart the start of the highest bracket, or zero if there are no brackets
+ */
+public record ScheduleMetrics(int bracketCount, float minRate, float maxRate, double averageRate,
+                              BigDecimal minThreshold, BigDecimal maxThreshold, BigDecimal topBracketStart,
+                              BigDecimal minBracketWidth, BigDecimal maxBracketWidth, BigDecimal averageBracketWidth) {
+
+    /**
+     * Computes the metrics of the given brackets.
+     *
+     * @param brackets the brackets, sorted by range start
+     */
+    public static ScheduleMetrics of(List<Bracket> brackets) {
+        float min = Float.MAX_VALUE;
+        float max = 0;
+        double sum = 0;
+        BigDecimal minThreshold = null;
+        BigDecimal maxThreshold = null;
+        BigDecimal minWidth = null;
+        BigDecimal maxWidth = null;
+        BigDecimal widthSum = BigDecimal.ZERO;
+        int closed = 0;
+        for (Bracket b : brackets) {
+            min = Math.min(min, b.rate());
+            max = Math.max(max, b.rate());
+            sum += b.rate();
+            if (minThreshold == null || b.rangeStart().compareTo(minThreshold) < 0) {
+                minThreshold = b.rangeStart();
+            }
+            if (b.rangeEnd() != null) {
+                if (maxThreshold == null || b.rangeEnd().compareTo(maxThreshold) > 0) {
+                    maxThreshold = b.rangeEnd();
+                }
+                BigDecimal width = b.rangeEnd().subtract(b.rangeStart());
+                minWidth = minWidth == null ? width : minWidth.min(width);
+                maxWidth = maxWidth == null ? width : maxWidth.max(width);
+                widthSum = widthSum.add(width);
+                closed++;
+            }
+        }
+        int n = brackets.size();
+        return new ScheduleMetrics(n, n == 0 ? 0 : min, max, n == 0 ? 0 : sum / n,
+                Objects.requireNonNullElse(minThreshold, BigDecimal.ZERO),
+                Objects.requireNonNullElse(maxThreshold, BigDecimal.ZERO),
+                n == 0 ? BigDecimal.ZERO : brackets.get(n - 1).rangeStart(),
+                Objects.requireNonNullElse(minWidth, BigDecimal.ZERO),
+                Objects.requireNonNullElse(maxWidth, BigDecimal.ZERO),
+                closed == 0 ? BigDecimal.ZERO : widthSum.divide(BigDecimal.valueOf(closed), 2, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * Returns these metrics with the aggregates held in {@code year_status_metrics} taken from the stored row.
+     * The bracket widths and top bracket start, which the table does not hold, stay as computed.
+     */
+    ScheduleMetrics withStored(YearStatusMetrics row) {
+        return new ScheduleMetrics(row.getBracketCount(), row.getMinRate(), row.getMaxRate(), row.getAvgRate(),
+                row.getMinThreshold(), Objects.requireNonNullElse(row.getMaxThreshold(), BigDecimal.ZERO),
+                topBracketStart, minBracketWidth, maxBracketWidth, averageBracketWidth);
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+
+import static com.project.marginal.tax.calculator.engine.FixedPoint.*;
+
+/**
+ * The brackets that apply to one year and filing status, sorted by range start.
+ * <p>
+ * Bounds are held as whole cents and rates as millionths (see {@link FixedPoint}), in a slice of the
+ * columns shared by every schedule of the owning {@link BracketIndex}. Alongside the brackets, the schedule
+ * keeps the exact cumulative tax owed at the start of each bracket, so the total for an income is a binary
+ * search plus one multiply-add with no allocation. Instances are immutable and safe to share between
+ * request threads.
+ * </p>
+ */
+public final class TaxSchedule {
+
+    /** Upper bound of the top bracket. */
+    public static final long NO_UPPER_LIMIT = Long.MAX_VALUE;
+
+    private final int year;
+    private final FilingStatus status;
+    private final List<Bracket> brackets;
+
+    private final long[] startCents;
+    private final long[] endCents;
+    private final int[] rateMicros;
+    private final long[] cumulativeMicros;
+    private final int offset;
+    private final int size;
+
+    TaxSchedule(int year, FilingStatus status, List<Bracket> brackets) {
+        this(year, status, sorted(brackets), new BracketColumns(brackets.size()), 0);
+    }
+
+    /**
+     * Creates a schedule over {@code columns[offset, offset + brackets.size())} and fills that slice.
+     *
+     * @param brackets the brackets, already sorted by range start
+     */
+    TaxSchedule(int year, FilingStatus status, List<Bracket> brackets, BracketColumns columns, int offset) {
+        this.year = year;
+        this.status = status;
+        this.brackets = List.copyOf(brackets);
+        this.startCents = columns.startCents;
+        this.endCents = columns.endCents;
+        this.rateMicros = columns.rateMicros;
+        this.cumulativeMicros = columns.cumulativeMicros;
+        this.offset = offset;
+        this.size = brackets.size();
+
+        for (int i = 0; i < size; i++) {
+            Bracket bracket = brackets.get(i);
+            startCents[offset + i] = toCents(bracket.rangeStart());
+            endCents[offset + i] = bracket.rangeEnd() != null ? toCents(bracket.rangeEnd()) : NO_UPPER_LIMIT;
+            rateMicros[offset + i] = toRateMicros(bracket.rate());
+        }
+
+        long running = 0;
+        for (int i = offset, last = offset + size - 1; i <= last; i++) {
+            cumulativeMicros[i] = running;
+            if (i < last) {
+                // An open-ended bracket below another one can only be reached up to the next start
+                long fullEnd = Math.min(endCents[i], startCents[i + 1]);
+                running += Math.max(0, fullEnd - startCents[i]) * rateMicros[i];
+            }
+        }
+    }
+
+    /**
+     * Returns a schedule without brackets, under which no income owes tax.
+     */
+    public static TaxSchedule empty(int year, FilingStatus status) {
+        return new TaxSchedule(year, status, List.of());
+    }
+
+    static List<Bracket> sorted(List<Bracket> brackets) {
+        return brackets.stream()
+                .sorted(Comparator.comparing(Bracket::rangeStart))
+                .toList();
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public FilingStatus getStatus() {
+        return status;
+    }
+
+    public List<Bracket> getBrackets() {
+        return brackets;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long startCents(int bracket) {
+        return startCents[offset + bracket];
+    }
+
+    /**
+     * Returns the upper bound of the given bracket in cents, or {@link #NO_UPPER_LIMIT} for the top bracket.
+     */
+    public long endCents(int bracket) {
+        return endCents[offset + bracket];
+    }
+
+    public int rateMicros(int bracket) {
+        return rateMicros[offset + bracket];
+    }
+
+    /**
+     * Returns how many brackets start below the given income, i.e. how many brackets the income reaches.
+     */
+    public int reachedCount(long incomeCents) {
+        int lo = offset;
+        int hi = offset + size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (startCents[mid] < incomeCents) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo - offset;
+    }
+
+    /**
+     * Returns the tax owed within one bracket for the given income, in cents.
+     * <p>
+     * The amount is the difference of the running total, rounded as by {@link #totalTaxCents(long)}, at the
+     * bracket's upper and lower bound. The brackets an income reaches therefore add up to its total exactly,
+     * and each is within a cent of that bracket's own exact amount.
+     * </p>
+     */
+    public long bracketTaxCents(int bracket, long incomeCents) {
+        int i = offset + bracket;
+        // Below the top bracket, reachable only up to the next start, as in the running total
+        long end = bracket < size - 1 ? Math.min(endCents[i], startCents[i + 1]) : endCents[i];
+        long taxed = Math.min(incomeCents, end) - startCents[i];
+        if (taxed <= 0) {
+            return 0;
+        }
+        return microsToCents(cumulativeMicros[i] + taxed * rateMicros[i]) - microsToCents(cumulativeMicros[i]);
+    }
+
+    /**
+     * Returns the exact, unrounded tax owed on the given income, in micro-cents.
+     */
+    public long taxMicros(long incomeCents) {
+        int reached = reachedCount(incomeCents);
+        if (reached == 0) {
+            return 0;
+        }
+        int top = offset + reached - 1;
+        long taxed = Math.min(incomeCents, endCents[top]) - startCents[top];
+        return cumulativeMicros[top] + Math.max(0, taxed) * rateMicros[top];
+    }
+
+    /**
+     * Returns the total tax owed on the given income, rounded half up to cents, without building the
+     * per-bracket breakdown.
+     *
+     * @param incomeCents the taxable income, at most {@link FixedPoint#MAX_INCOME_CENTS}
+     * @return the total tax in cents, or 0 if the income reaches no bracket
+     */
+    public long totalTaxCents(long incomeCents) {
+        return microsToCents(taxMicros(incomeCents));
+    }
+
+    /**
+     * Returns the rate of the highest bracket the given income reaches, or 0 if it reaches none.
+     */
+    public int marginalRateMicros(long incomeCents) {
+        int reached = reachedCount(incomeCents);
+        return reached == 0 ? 0 : rateMicros[offset + reached - 1];
+    }
+
+    /**
+     * Returns the smallest income whose total tax, rounded as by {@link #totalTaxCents(long)}, is at least
+     * the given amount.
+     *
+     * @return the income in cents, or empty if no income up to {@link FixedPoint#MAX_INCOME_CENTS} owes that much
+     */
+    public OptionalLong incomeForTax(long taxCents) {
+        // round(T) >= target  <=>  T >= target - 1/2 cent
+        return solve(1, 0, taxCents * RATE_SCALE - RATE_SCALE / 2, 0);
+    }
+
+    /**
+     * Returns the smallest income whose net amount, income minus {@link #totalTaxCents(long)}, is at least
+     * the given amount. Rates above 100% make the net amount non-monotonic and are not supported.
+     *
+     * @return the income in cents, or empty if it would exceed {@link FixedPoint#MAX_INCOME_CENTS}
+     */
+    public OptionalLong incomeForNet(long netCents) {
+        // I - round(T) >= target  <=>  I * SCALE - T > target * SCALE - 1/2 cent
+        return solve(-1, RATE_SCALE, netCents * RATE_SCALE - RATE_SCALE / 2 + 1, 0);
+    }
+
+    /**
+     * Returns the smallest positive income whose exact effective rate (total tax / income) is at least the
+     * given rate. The answer is exact for progressive schedules, whose effective rate never decreases.
+     *
+     * @param rateMicros the target rate in millionths
+     * @return the income in cents, or empty if the rate is not reached up to {@link FixedPoint#MAX_INCOME_CENTS}
+     */
+    public OptionalLong incomeForEffectiveRate(int rateMicros) {
+        // T / I >= r  <=>  T - r * I >= 0
+        return solve(1, -rateMicros, 0, 1);
+    }
+
+    /**
+     * Finds the smallest income {@code I >= lowest} with {@code f(I) = taxSign * T(I) + incomeWeight * I >= need},
+     * where {@code T} is {@link #taxMicros(long)}. {@code f} is piecewise linear with knots at bracket starts
+     * and ends; every caller's {@code f} only crosses {@code need} once, so the bracket is found by binary search
+     * on its right knot and the income within it in closed form.
+     */
+    private OptionalLong solve(int taxSign, long incomeWeight, long need, long lowest) {
+        // Below the first bracket nothing is taxed
+        long firstStart = size == 0 ? MAX_INCOME_CENTS : Math.min(startCents[offset], MAX_INCOME_CENTS);
+        long found = solveLinear(lowest, firstStart, incomeWeight * lowest, incomeWeight, need);
+        if (found >= 0) {
+            return OptionalLong.of(found);
+        }
+
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (valueAt(mid, rightKnot(mid), taxSign, incomeWeight) >= need) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        if (lo == size) {
+            return OptionalLong.empty();
+        }
+
+        int i = offset + lo;
+        long start = Math.max(startCents[i], lowest);
+        long right = rightKnot(lo);
+        long taxedEnd = Math.max(start, Math.min(endCents[i], right));
+        long atStart = valueAt(lo, start, taxSign, incomeWeight);
+        found = solveLinear(start, taxedEnd, atStart, taxSign * (long) rateMicros[i] + incomeWeight, need);
+        if (found < 0) {
+            // Between the bracket's end and the next start, only the income term changes
+            found = solveLinear(taxedEnd, right, valueAt(lo, taxedEnd, taxSign, incomeWeight), incomeWeight, need);
+        }
+        return found < 0 ? OptionalLong.empty() : OptionalLong.of(found);
+    }
+
+    /**
+     * Returns where bracket {@code bracket}'s region ends: the next start, or the supported maximum for the top.
+     */
+    private long rightKnot(int bracket) {
+        long right = bracket < size - 1 ? startCents[offset + bracket + 1] : endCents[offset + bracket];
+        return Math.min(right, MAX_INCOME_CENTS);
+    }
+
+    /**
+     * Evaluates {@code taxSign * T(income) + incomeWeight * income} for an income in bracket {@code bracket}'s region.
+     */
+    private long valueAt(int bracket, long incomeCents, int taxSign, long incomeWeight) {
+        int i = offset + bracket;
+        long taxed = Math.max(0, Math.min(incomeCents, endCents[i]) - startCents[i]);
+        long tax = cumulativeMicros[i] + taxed * rateMicros[i];
+        return taxSign * tax + incomeWeight * incomeCents;
+    }
+
+    /**
+     * Returns the smallest {@code I} in {@code [from, to]} with {@code atFrom + slope * (I - from) >= need}, or -1.
+     */
+    private static long solveLinear(long from, long to, long atFrom, long slope, long need) {
+        if (from > to) {
+            return -1;
+        }
+        if (atFrom >= need) {
+            return from;
+        }
+        if (slope <= 0) {
+            return -1;
+        }
+        long steps = Math.floorDiv(need - atFrom + slope - 1, slope);
+        return steps <= to - from ? from + steps : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "TaxSchedule{" +
+                "year=" + year +
+                ", status=" + status +
+                ", brackets=" + size +
+                '}';
+    }
+}
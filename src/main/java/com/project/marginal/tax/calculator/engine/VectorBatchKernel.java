@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of {@link BatchEvaluator}. Only loaded when {@code jdk.incubator.vector} is in
+ * the boot layer.
+ * <p>
+ * Instead of a binary search per income, every lane walks all brackets and adds
+ * {@code clamp(income - start, 0, width) * rate}, where a bracket's width stops at the next bracket's
+ * start. For brackets below the income this is exactly the cumulative tax {@link TaxSchedule} precomputes,
+ * and brackets above it contribute zero, so the micro-cent sums match the scalar engine bit for bit.
+ * </p>
+ */
+final class VectorBatchKernel {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    private VectorBatchKernel() {
+    }
+
+    static long[] totalTaxCents(TaxSchedule schedule, long[] incomeCents) {
+        int n = schedule.size();
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        long[] rates = new long[n];
+        for (int b = 0; b < n; b++) {
+            starts[b] = schedule.startCents(b);
+            ends[b] = b < n - 1 ? Math.min(schedule.endCents(b), schedule.startCents(b + 1)) : schedule.endCents(b);
+            rates[b] = schedule.rateMicros(b);
+        }
+
+        long[] totals = new long[incomeCents.length];
+        int i = 0;
+        for (int bound = SPECIES.loopBound(incomeCents.length); i < bound; i += SPECIES.length()) {
+            LongVector income = LongVector.fromArray(SPECIES, incomeCents, i);
+            LongVector micros = LongVector.zero(SPECIES);
+            for (int b = 0; b < n; b++) {
+                LongVector taxed = income.min(ends[b]).sub(starts[b]).max(0L);
+                micros = micros.add(taxed.mul(rates[b]));
+            }
+            micros.add(FixedPoint.RATE_SCALE / 2)
+                    .lanewise(VectorOperators.DIV, FixedPoint.RATE_SCALE)
+                    .intoArray(totals, i);
+        }
+        for (; i < incomeCents.length; i++) {
+            totals[i] = schedule.totalTaxCents(incomeCents[i]);
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The years on record, as primitive columns built once per {@link BracketIndex} snapshot.
+ * <p>
+ * Years are held in a sorted {@code int[]}; alongside each year, a bit mask records which filing statuses have
+ * brackets, and a {@link BitSet} indexed by year answers no-income-tax membership in constant time. The list
+ * views returned to callers are precomputed, so serving {@code /years} allocates nothing per request.
+ * </p>
+ */
+public final class YearCatalog {
+
+    private static final FilingStatus[] STATUSES = FilingStatus.values();
+
+    private final int[] years;
+    private final byte[] statusMasks;
+    private final BitSet noTaxYears;
+    private final List<Integer> yearList;
+    private final Map<FilingStatus, List<Integer>> yearsByStatus;
+
+    private YearCatalog(int[] years, byte[] statusMasks, BitSet noTaxYears) {
+        this.years = years;
+        this.statusMasks = statusMasks;
+        this.noTaxYears = noTaxYears;
+        this.yearList = Arrays.stream(years).boxed().toList();
+
+        EnumMap<FilingStatus, List<Integer>> byStatus = new EnumMap<>(FilingStatus.class);
+        for (FilingStatus status : STATUSES) {
+            List<Integer> list = new ArrayList<>();
+            for (int i = 0; i < years.length; i++) {
+                if (hasBracketsAt(i, status)) {
+                    list.add(years[i]);
+                }
+            }
+            byStatus.put(status, List.copyOf(list));
+        }
+        this.yearsByStatus = Collections.unmodifiableMap(byStatus);
+    }
+
+    /**
+     * Builds a catalog of every year that has brackets or no income tax.
+     *
+     * @param bracketYears   every year with at least one bracket row
+     * @param schedules      the schedules per year, keyed by status
+     * @param noTaxYears     every year without income tax
+     */
+    static YearCatalog of(Set<Integer> bracketYears, Map<Integer, ? extends Map<FilingStatus, ?>> schedules,
+                          Set<Integer> noTaxYears) {
+        int[] years = IntStream.concat(
+                        bracketYears.stream().mapToInt(Integer::intValue),
+                        noTaxYears.stream().mapToInt(Integer::intValue))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        byte[] masks = new byte[years.length];
+        for (int i = 0; i < years.length; i++) {
+            Map<FilingStatus, ?> perStatus = schedules.get(years[i]);
+            if (perStatus != null) {
+                for (FilingStatus status : perStatus.keySet()) {
+                    masks[i] |= (byte) (1 << status.ordinal());
+                }
+            }
+        }
+
+        BitSet noTax = new BitSet();
+        for (int year : noTaxYears) {
+            if (year >= 0) {
+                noTax.set(year);
+            }
+        }
+        return new YearCatalog(years, masks, noTax);
+    }
+
+    public int size() {
+        return years.length;
+    }
+
+    public int yearAt(int i) {
+        return years[i];
+    }
+
+    /**
+     * Returns the years in ascending order, as a precomputed unmodifiable list.
+     */
+    public List<Integer> years() {
+        return yearList;
+    }
+
+    /**
+     * Returns the years that have brackets for the given status in ascending order, as a precomputed list.
+     */
+    public List<Integer> years(FilingStatus status) {
+        return yearsByStatus.get(status);
+    }
+
+    public boolean isNoTaxYear(int year) {
+        return year >= 0 && noTaxYears.get(year);
+    }
+
+    public boolean isNoTaxYearAt(int i) {
+        return isNoTaxYear(years[i]);
+    }
+
+    /**
+     * Returns whether the year at position {@code i} has brackets for the given status.
+     */
+    public boolean hasBracketsAt(int i, FilingStatus status) {
+        return (statusMasks[i] & (1 << status.ordinal())) != 0;
+    }
+
+    /**
+     * Returns whether the given year has brackets for the given status.
+     */
+    public boolean hasBrackets(int year, FilingStatus status) {
+        int i = Arrays.binarySearch(years, year);
+        return i >= 0 && hasBracketsAt(i, status);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Aggregates over the brackets of one year and filing status.
+ * <p>
+ * Rows are derived from {@link TaxRate} and rebuilt in the same transaction as each import, so they are never
+ * written directly.
+ * </p>
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Entity
+@Table(name = "year_status_metrics")
+@IdClass(YearStatusMetrics.Key.class)
+public class YearStatusMetrics {
+
+    @Id
+    private Integer year;
+    @Id
+    @Enumerated(EnumType.STRING)
+    private FilingStatus status;
+
+    private Integer bracketCount;
+    private Float minRate;
+    private Float maxRate;
+    private Double avgRate;
+    private BigDecimal minThreshold;
+    private BigDecimal maxThreshold;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Integer year;
+        private FilingStatus status;
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.exception;
+
+/**
+ * Thrown when a request names a dataset version this node has not loaded yet, e.g. while replicas catch up
+ * with an import. Mapped to {@code 503} so the client retries instead of caching another version's data.
+ */
+public class DatasetVersionUnavailableException extends RuntimeException {
+
+    public DatasetVersionUnavailableException(long requested, long current) {
+        super("Dataset version " + requested + " is not available yet (current: " + current + ")");
+    }
+}
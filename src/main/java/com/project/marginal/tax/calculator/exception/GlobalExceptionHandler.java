@@ -13,6 +13,7 @@ package com.project.marginal.tax.calculator.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -28,6 +29,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -142,7 +144,42 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
-    // 7) Catch‑all for everything else
+    // 7) Bulk simulation pool saturated
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejected(
+            @NotNull RejectedExecutionException ex,
+            @NotNull HttpServletRequest request) {
+
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    // 8) Request for a dataset version this node has not loaded yet
+    @ExceptionHandler(DatasetVersionUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleVersionUnavailable(
+            @NotNull DatasetVersionUnavailableException ex,
+            @NotNull HttpServletRequest request) {
+
+        ErrorResponse body = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    // 9) Catch‑all for everything else
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAll(
             @NotNull Exception ex,
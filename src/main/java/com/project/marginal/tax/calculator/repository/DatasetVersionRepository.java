@@ -0,0 +1,48 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.repository;
+
+import com.project.marginal.tax.calculator.entity.DatasetVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the single {@code dataset_version} row.
+ * <p>
+ * {@link #bump()} must run in the import's transaction, so the new version becomes visible together with the
+ * rows it describes. {@link #announce()} notifies the other nodes on the {@value #CHANNEL} channel; Postgres only
+ * delivers the notification if and when that transaction commits.
+ * </p>
+ */
+@Repository
+public interface DatasetVersionRepository extends JpaRepository<DatasetVersion, Short> {
+
+    /** Postgres notification channel announcing a new dataset version. */
+    String CHANNEL = "tax_dataset_version";
+
+    @Modifying
+    @Query(value = "UPDATE dataset_version SET version = version + 1, updated_at = now() WHERE id = 1",
+            nativeQuery = true)
+    int bump();
+
+    @Modifying
+    @Query(value = "NOTIFY " + CHANNEL, nativeQuery = true)
+    void announce();
+
+    default Optional<DatasetVersion> current() {
+        return findById(DatasetVersion.ID);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.repository;
+
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the per-year aggregates in {@code year_status_metrics}.
+ * <p>
+ * The table is rebuilt from {@code historical_tax_rates} with {@link #deleteAllRows()} followed by
+ * {@link #insertFromTaxRates()}; both must run in the caller's transaction.
+ * </p>
+ */
+@Repository
+public interface YearStatusMetricsRepository extends JpaRepository<YearStatusMetrics, YearStatusMetrics.Key> {
+
+    @Modifying
+    @Query(value = "DELETE FROM year_status_metrics", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO year_status_metrics
+              (year, status, bracket_count, min_rate, max_rate, avg_rate, min_threshold, max_threshold)
+            SELECT year, status, COUNT(*), MIN(rate), MAX(rate), AVG(rate), MIN(range_start), MAX(range_end)
+              FROM historical_tax_rates
+             GROUP BY year, status
+            """, nativeQuery = true)
+    int insertFromTaxRates();
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the published {@link BracketIndex} snapshot at {@code /actuator/bracketindex}: dataset version, when
+ * and how quickly it was built and how many rows it holds. {@code columnBytesEstimate} is the heap of the packed
+ * bracket column arrays only; the {@code Bracket} lists, schedules and maps the index also holds are not counted.
+ */
+@Component
+@Endpoint(id = "bracketindex")
+@RequiredArgsConstructor
+public class BracketIndexEndpoint {
+
+    private final BracketIndexProvider indexProvider;
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        BracketIndexProvider.Snapshot snapshot = indexProvider.snapshot();
+        BracketIndex index = snapshot.index();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("version", index.version());
+        details.put("lastModified", index.lastModified().toString());
+        details.put("builtAt", snapshot.builtAt().toString());
+        details.put("buildMillis", snapshot.buildTime().toMillis());
+        details.put("years", index.years().size());
+        details.put("noTaxYears", index.noTaxYears().size());
+        details.put("schedules", index.scheduleCount());
+        details.put("brackets", index.packedBracketCount());
+        details.put("columnBytesEstimate", index.columnBytesEstimate());
+        return details;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds the size of the current {@link BracketIndex} snapshot to {@code /actuator/info}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BracketIndexInfoContributor implements InfoContributor {
+
+    private final BracketIndexProvider indexProvider;
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        BracketIndex index = indexProvider.current();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("years", index.years().size());
+        details.put("schedules", index.scheduleCount());
+        details.put("brackets", index.packedBracketCount());
+        details.put("columnBytesEstimate", index.columnBytesEstimate());
+        builder.withDetail("bracketIndex", details);
+    }
+}
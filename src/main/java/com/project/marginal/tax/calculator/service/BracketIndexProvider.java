@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.entity.DatasetVersion;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link BracketIndex} snapshot.
+ * <p>
+ * The snapshot is loaded once at startup and rebuilt after each import. Readers should call
+ * {@link #current()} once per request and work against the returned snapshot.
+ * </p>
+ * <p>
+ * A rebuild reads the committed tables into a complete new snapshot off to the side and publishes it with a
+ * single reference swap, so a reader sees either the old snapshot or the new one, never a mix. Requests
+ * already holding the old snapshot finish against it. Imports publish through {@link #refreshAfterCommit()},
+ * so rows of a transaction that is still open, or later rolled back, never reach readers.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class BracketIndexProvider {
+    private static final Logger log = LoggerFactory.getLogger(BracketIndexProvider.class);
+
+    private final TaxRateRepository taxRateRepo;
+    private final NoIncomeTaxYearRepository noTaxRepo;
+    private final YearStatusMetricsRepository metricsRepo;
+    private final DatasetVersionRepository versionRepo;
+
+    private final AtomicReference<Snapshot> published = new AtomicReference<>();
+
+    /**
+     * A published snapshot with when and how quickly it was built.
+     */
+    public record Snapshot(BracketIndex index, Instant builtAt, Duration buildTime) {
+    }
+
+    /**
+     * Returns the current snapshot, loading it on first use.
+     */
+    public BracketIndex current() {
+        return snapshot().index();
+    }
+
+    /**
+     * Returns the current snapshot with its build details, loading it on first use.
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = published.get();
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = published.get();
+                if (snapshot == null) {
+                    refresh();
+                    snapshot = published.get();
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and publishes it.
+     *
+     * @return the new snapshot
+     */
+    public synchronized BracketIndex refresh() {
+        long startNs = System.nanoTime();
+        // Read the version before the rows: a concurrent import can then only make the rows newer than the
+        // label, never older, so a validator never vouches for data the snapshot does not have
+        Optional<DatasetVersion> version = versionRepo.current();
+        BracketIndex index = BracketIndex.of(taxRateRepo.findAll(), noTaxRepo.findAll(), metricsRepo.findAll());
+        if (version.isPresent()) {
+            index = index.withVersion(version.get().getVersion(), version.get().getUpdatedAt());
+        }
+        Duration buildTime = Duration.ofNanos(System.nanoTime() - startNs);
+        published.set(new Snapshot(index, Instant.now(), buildTime));
+        log.info("Loaded bracket index {} in {} ms", index, buildTime.toMillis());
+        return index;
+    }
+
+    /**
+     * Rebuilds the snapshot if the stored dataset version is newer than the published one, e.g. after another
+     * node imported.
+     *
+     * @return whether a new snapshot was published
+     */
+    public boolean refreshIfBehind() {
+        long stored = versionRepo.current().map(DatasetVersion::getVersion).orElse(0L);
+        if (stored <= current().version()) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    /**
+     * Rebuilds the snapshot once the current transaction commits, or right away if there is none. Nothing is
+     * published if the transaction rolls back.
+     */
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // Only reads, which see the committed rows; no further commit follows on this transaction
+                refresh();
+            }
+        });
+    }
+}
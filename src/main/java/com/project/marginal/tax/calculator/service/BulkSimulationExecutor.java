@@ -0,0 +1,121 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the work of bulk simulations on a dedicated {@link ForkJoinPool}, so large batches use neither the
+ * common pool nor the servlet threads that serve interactive requests.
+ * <p>
+ * At most {@code tax.simulate.max-queued} bulk requests may be submitted at once; further requests are
+ * rejected with a {@link RejectedExecutionException} instead of queueing without bound. Pool and admission
+ * state are published as metrics ({@code executor.*} with {@code name=bulk-simulate}, and
+ * {@code tax.simulate.requests.*}).
+ * </p>
+ */
+@Component
+public class BulkSimulationExecutor {
+
+    private final ForkJoinPool pool;
+    private final Semaphore admissions;
+    private final int maxQueued;
+    private final Counter rejected;
+
+    public BulkSimulationExecutor(@Value("${tax.simulate.parallelism:0}") int parallelism,
+                                  @Value("${tax.simulate.max-queued:16}") int maxQueued,
+                                  MeterRegistry registry) {
+        if (maxQueued < 1) {
+            throw new IllegalArgumentException("tax.simulate.max-queued must be at least 1");
+        }
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(threads, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("bulk-simulate-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.maxQueued = maxQueued;
+        this.admissions = new Semaphore(maxQueued);
+
+        new ExecutorServiceMetrics(pool, "bulk-simulate", Tags.empty()).bindTo(registry);
+        Gauge.builder("tax.simulate.requests.active", admissions, s -> maxQueued - s.availablePermits())
+                .description("Bulk simulations submitted to the pool and not yet finished")
+                .register(registry);
+        Gauge.builder("tax.simulate.requests.limit", () -> maxQueued)
+                .description("Maximum number of bulk simulations admitted at once")
+                .register(registry);
+        this.rejected = Counter.builder("tax.simulate.requests.rejected")
+                .description("Bulk simulations rejected because the pool was saturated")
+                .register(registry);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    /**
+     * Runs the given tasks in parallel on the bulk pool and waits for all of them.
+     *
+     * @param tasks independent tasks, typically one per schedule group
+     * @throws RejectedExecutionException if too many bulk simulations are already in progress
+     * @throws RuntimeException           the first exception thrown by a task, unchanged
+     */
+    public void invokeAll(List<Runnable> tasks) {
+        if (!admissions.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Too many bulk simulations in progress, retry later");
+        }
+        try {
+            // Keep the task's own exception; ForkJoinTask.join may rethrow a copy with a different message
+            AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            List<ForkJoinTask<?>> forks = tasks.stream()
+                    .<ForkJoinTask<?>>map(task -> ForkJoinTask.adapt(() -> {
+                        try {
+                            task.run();
+                        } catch (RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }))
+                    .toList();
+            pool.submit(() -> ForkJoinTask.invokeAll(forks)).join();
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        } finally {
+            admissions.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
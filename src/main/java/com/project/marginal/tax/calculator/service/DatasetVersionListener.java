@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps this node's {@link BracketIndexProvider} snapshot in step with imports run on other nodes.
+ * <p>
+ * A daemon thread holds a {@link DedicatedConnections dedicated connection} that {@code LISTEN}s on
+ * {@link DatasetVersionRepository#CHANNEL}. On a notification it compares the stored dataset version with the
+ * published snapshot and rebuilds if it is behind; the response caches follow the snapshot. The same check
+ * runs every {@code tax.dataset-sync.poll-interval-ms} without a notification, and keeps running while the
+ * listening connection is down, so a lost notification or connection only delays the refresh.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "tax.dataset-sync", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DatasetVersionListener {
+    private static final Logger log = LoggerFactory.getLogger(DatasetVersionListener.class);
+
+    private final BracketIndexProvider indexProvider;
+    private final DedicatedConnections connections;
+    private final long pollIntervalMs;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection connection;
+    private Thread thread;
+
+    @Autowired
+    public DatasetVersionListener(BracketIndexProvider indexProvider,
+                                  DataSourceProperties dataSource,
+                                  @Value("${tax.dataset-sync.poll-interval-ms:60000}") long pollIntervalMs) {
+        this(indexProvider, DedicatedConnections.of(dataSource), pollIntervalMs);
+    }
+
+    DatasetVersionListener(BracketIndexProvider indexProvider, DedicatedConnections connections, long pollIntervalMs) {
+        if (pollIntervalMs <= 0) {
+            throw new IllegalArgumentException("tax.dataset-sync.poll-interval-ms must be positive");
+        }
+        this.indexProvider = indexProvider;
+        this.connections = connections;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "dataset-version-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Returns whether the listening connection is currently subscribed.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    private void run() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try (Connection conn = connections.open()) {
+                connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    statement.execute("LISTEN " + DatasetVersionRepository.CHANNEL);
+                }
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                listening = true;
+                // Catch up on imports committed before the subscription took effect
+                check();
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications((int) Math.min(pollIntervalMs, Integer.MAX_VALUE));
+                    if (notifications != null && notifications.length > 0) {
+                        log.debug("Dataset version notification received");
+                    }
+                    check();
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Dataset version listener lost its connection; polling until it reconnects: {}",
+                            e.getMessage());
+                }
+            } finally {
+                listening = false;
+                connection = null;
+            }
+            pause();
+            check();
+        }
+    }
+
+    private void check() {
+        if (!running) {
+            return;
+        }
+        try {
+            if (indexProvider.refreshIfBehind()) {
+                log.info("Dataset changed on another node; published bracket index {}", indexProvider.current());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dataset version check failed: {}", e.getMessage());
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // already broken
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Opens database connections outside the pool, for sessions that live as long as the application: a
+ * {@code LISTEN} subscription or a session-level advisory lock. Holding those on pooled connections would
+ * take a slot away from requests for good.
+ */
+@FunctionalInterface
+interface DedicatedConnections {
+
+    Connection open() throws SQLException;
+
+    static DedicatedConnections of(DataSourceProperties dataSource) {
+        return () -> DriverManager.getConnection(dataSource.determineUrl(),
+                dataSource.determineUsername(), dataSource.determinePassword());
+    }
+}
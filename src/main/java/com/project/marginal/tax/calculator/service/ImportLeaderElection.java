@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elects the one replica that polls S3 and imports, using a Postgres session-level advisory lock.
+ * <p>
+ * Every {@code tax.import-leader.renew-interval-ms}, a node without the lock tries
+ * {@code pg_try_advisory_lock} on a {@link DedicatedConnections dedicated connection} and keeps that connection
+ * open while it leads; Postgres holds the lock exactly as long as the session lives. The leader renews its
+ * lease by checking that the session is still alive. If the leader's node or connection dies, Postgres drops
+ * the lock and another node takes over on its next attempt, so failover takes at most one renew interval plus
+ * the time Postgres needs to notice the dead session. Followers do not import; they pick up the leader's
+ * imports through {@link DatasetVersionListener}. Before each import the leader re-validates its session with
+ * {@link #confirmLeadership()}, so it does not act on a lease lost since the last renewal.
+ * </p>
+ * <p>
+ * Metrics: {@code tax.import.leader} (1 while leading), {@code tax.import.leader.transitions} tagged
+ * {@code event=acquired|lost}, {@code tax.import.leader.renewal} (duration of each lease check) and
+ * {@code tax.import.leader.acquire.wait} (time from becoming a candidate until taking over).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "tax.s3-import", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ImportLeaderElection {
+    private static final Logger log = LoggerFactory.getLogger(ImportLeaderElection.class);
+
+    /** Advisory lock key shared by every replica ("tax_imp" in ASCII). */
+    static final long LOCK_KEY = 0x7461785f696d70L;
+
+    /** Seconds allowed for the lease check round-trip. */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private final DedicatedConnections connections;
+    private final Counter acquired;
+    private final Counter lost;
+    private final Timer renewal;
+    private final Timer acquireWait;
+
+    private volatile Connection lease;
+    private long candidateSinceNs = System.nanoTime();
+
+    @Autowired
+    public ImportLeaderElection(DataSourceProperties dataSource, MeterRegistry registry) {
+        this(DedicatedConnections.of(dataSource), registry);
+    }
+
+    ImportLeaderElection(DedicatedConnections connections, MeterRegistry registry) {
+        this.connections = connections;
+        Gauge.builder("tax.import.leader", this, e -> e.isLeader() ? 1 : 0)
+                .description("1 while this node holds the import leader lock")
+                .register(registry);
+        this.acquired = Counter.builder("tax.import.leader.transitions").tag("event", "acquired")
+                .description("Times this node became import leader")
+                .register(registry);
+        this.lost = Counter.builder("tax.import.leader.transitions").tag("event", "lost")
+                .description("Times this node lost the import leader lock")
+                .register(registry);
+        this.renewal = Timer.builder("tax.import.leader.renewal")
+                .description("Duration of an import leader lease check or acquisition attempt")
+                .register(registry);
+        this.acquireWait = Timer.builder("tax.import.leader.acquire.wait")
+                .description("Time from becoming a leader candidate until acquiring the lock")
+                .register(registry);
+    }
+
+    /**
+     * Returns whether this node held the import leader lock as of the last renewal. The session may have died
+     * since; call {@link #confirmLeadership()} before acting as leader.
+     */
+    public boolean isLeader() {
+        return lease != null;
+    }
+
+    /**
+     * Checks the lease session now and returns whether this node still leads. A live session still holds its
+     * session-level lock, so a node that passes this check cannot be racing a newer leader that took over
+     * after its session died between renewals.
+     */
+    public synchronized boolean confirmLeadership() {
+        if (lease != null) {
+            checkLease();
+        }
+        return lease != null;
+    }
+
+    /**
+     * Renews the lease if leading, otherwise tries to take the lock.
+     */
+    @Scheduled(fixedDelayString = "${tax.import-leader.renew-interval-ms:10000}")
+    public synchronized void renew() {
+        long startNs = System.nanoTime();
+        try {
+            if (lease != null) {
+                checkLease();
+            } else {
+                tryAcquire();
+            }
+        } finally {
+            renewal.record(System.nanoTime() - startNs, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        Connection conn = lease;
+        if (conn == null) {
+            return;
+        }
+        lease = null;
+        try (PreparedStatement unlock = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            unlock.setLong(1, LOCK_KEY);
+            unlock.execute();
+        } catch (SQLException e) {
+            log.debug("Advisory unlock failed; closing the session releases it: {}", e.getMessage());
+        }
+        closeQuietly(conn);
+        log.info("Released import leadership");
+    }
+
+    private void checkLease() {
+        boolean alive;
+        try {
+            alive = lease.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            alive = false;
+        }
+        if (!alive) {
+            // The session is gone, and with it the lock; another node may already lead
+            closeQuietly(lease);
+            lease = null;
+            candidateSinceNs = System.nanoTime();
+            lost.increment();
+            log.warn("Lost import leadership: lock session is no longer valid");
+        }
+    }
+
+    private void tryAcquire() {
+        Connection conn = null;
+        try {
+            conn = connections.open();
+            boolean locked;
+            try (PreparedStatement lock = conn.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                lock.setLong(1, LOCK_KEY);
+                try (ResultSet rs = lock.executeQuery()) {
+                    locked = rs.next() && rs.getBoolean(1);
+                }
+            }
+            if (!locked) {
+                return;
+            }
+            lease = conn;
+            conn = null;
+            acquired.increment();
+            acquireWait.record(System.nanoTime() - candidateSinceNs, TimeUnit.NANOSECONDS);
+            log.info("Acquired import leadership");
+        } catch (SQLException e) {
+            log.warn("Import leader election failed: {}", e.getMessage());
+        } finally {
+            // Followers do not keep a connection open
+            closeQuietly(conn);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null) {
+            return;
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // already broken
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.marginal.tax.calculator.dto.SimulationRowError;
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.dto.TaxPaidResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates a newline-delimited JSON stream of {@link TaxInput}s and writes one result line per input.
+ * <p>
+ * Inputs are read incrementally and evaluated in chunks of {@code tax.simulate.stream.flush-rows}; each
+ * chunk is written and flushed before the next one is read, so memory use is bounded by the chunk size and
+ * a slow reader slows down consumption of the request. Line {@code n} of the output always corresponds to
+ * line {@code n} of the input: rows that cannot be evaluated produce a {@link SimulationRowError} line.
+ * </p>
+ */
+@Service
+public class SimulationStreamService {
+    private static final Logger log = LoggerFactory.getLogger(SimulationStreamService.class);
+
+    private final TaxService taxService;
+    private final ObjectMapper mapper;
+    private final int flushRows;
+    private final long admissionTimeoutMs;
+
+    public SimulationStreamService(TaxService taxService,
+                                   ObjectMapper mapper,
+                                   @Value("${tax.simulate.stream.flush-rows:1000}") int flushRows,
+                                   @Value("${tax.simulate.stream.admission-timeout-ms:30000}") long admissionTimeoutMs) {
+        if (flushRows < 1) {
+            throw new IllegalArgumentException("tax.simulate.stream.flush-rows must be at least 1");
+        }
+        this.taxService = taxService;
+        this.mapper = mapper;
+        this.flushRows = flushRows;
+        this.admissionTimeoutMs = admissionTimeoutMs;
+    }
+
+    /**
+     * Reads inputs from {@code in} until end of stream and writes the results to {@code out}.
+     *
+     * @param brackets whether to include the per-bracket breakdown, as for the JSON {@code /simulate}
+     * @return the number of rows read
+     */
+    public long simulate(InputStream in, OutputStream out, boolean brackets) throws IOException {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long line = 0;
+
+        try (MappingIterator<TaxInput> rows = mapper.readerFor(TaxInput.class).readValues(in);
+             JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            List<Object> chunk = new ArrayList<>(flushRows);
+            boolean more = true;
+            while (more) {
+                chunk.clear();
+                while (chunk.size() < flushRows) {
+                    try {
+                        if (!rows.hasNextValue()) {
+                            more = false;
+                            break;
+                        }
+                        chunk.add(rows.nextValue());
+                    } catch (JsonParseException e) {
+                        // The tokenizer cannot resynchronise after malformed JSON, so stop after this row
+                        chunk.add(new SimulationRowError(line + chunk.size() + 1, "Malformed JSON", e.getOriginalMessage()));
+                        more = false;
+                        break;
+                    } catch (JsonMappingException e) {
+                        chunk.add(new SimulationRowError(line + chunk.size() + 1, "Bad Request", e.getOriginalMessage()));
+                    }
+                }
+
+                for (Object result : evaluate(chunk, line, brackets)) {
+                    writer.writeValue(generator, result);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                line += chunk.size();
+            }
+        }
+        log.debug("Streamed {} simulation rows", line);
+        return line;
+    }
+
+    /**
+     * Evaluates one chunk, replacing each input with its result. The whole chunk goes through the grouped
+     * bulk path; if any row is invalid, the rows are evaluated one by one so only that row gets an error.
+     */
+    private List<Object> evaluate(List<Object> chunk, long firstLine, boolean brackets) throws IOException {
+        List<TaxInput> inputs = new ArrayList<>(chunk.size());
+        for (Object row : chunk) {
+            if (row instanceof TaxInput input) {
+                inputs.add(input);
+            }
+        }
+
+        List<TaxPaidResponse> results;
+        try {
+            results = admitted(() -> brackets ? taxService.simulateBulk(inputs) : taxService.simulateTotals(inputs));
+        } catch (IllegalArgumentException e) {
+            results = null;
+        }
+
+        List<Object> out = new ArrayList<>(chunk.size());
+        int next = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            Object row = chunk.get(i);
+            if (!(row instanceof TaxInput input)) {
+                out.add(row);
+            } else if (results != null) {
+                out.add(results.get(next++));
+            } else {
+                try {
+                    out.add(brackets ? taxService.calculateTaxBreakdown(input) : taxService.calculateTaxTotals(input));
+                } catch (IllegalArgumentException e) {
+                    out.add(new SimulationRowError(firstLine + i + 1, "Bad Request", e.getMessage()));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Runs a bulk evaluation, waiting for the bulk pool to admit it instead of failing the stream midway.
+     */
+    private List<TaxPaidResponse> admitted(Supplier<List<TaxPaidResponse>> evaluation)
+            throws IOException {
+        long deadline = System.currentTimeMillis() + admissionTimeoutMs;
+        long backoffMs = 10;
+        while (true) {
+            try {
+                return evaluation.get();
+            } catch (RejectedExecutionException e) {
+                if (System.currentTimeMillis() + backoffMs > deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the bulk pool");
+                }
+                backoffMs = Math.min(backoffMs * 2, 200);
+            }
+        }
+    }
+}
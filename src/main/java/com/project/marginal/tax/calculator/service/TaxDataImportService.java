@@ -16,27 +16,50 @@ import com.project.marginal.tax.calculator.dto.BracketEntry;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
 import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
 import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
 import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
 import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
 import com.project.marginal.tax.calculator.utility.CsvImportUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DataIntegrityViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Imports bracket rows from CSV.
+ * <p>
+ * An import runs in one transaction: the new rows and the rebuilt {@code year_status_metrics} aggregates are
+ * committed together, so readers never see one without the other. Since a constraint violation would abort the
+ * whole transaction, duplicates are detected before they are written rather than by catching the violation.
+ * The {@code dataset_version} counter is bumped in the same transaction when the import added rows, and the
+ * read path only switches to the new data once the transaction has committed. Other nodes learn of the new
+ * version through a Postgres notification sent on commit (see {@link DatasetVersionListener}).
+ * </p>
+ */
 @Service
 @RequiredArgsConstructor
 public class TaxDataImportService {
+    private static final Logger log = LoggerFactory.getLogger(TaxDataImportService.class);
 
     private final CsvImportUtils csvUtil;
     private final TaxRateRepository repo;
     private final NoIncomeTaxYearRepository noTaxRepo;
+    private final YearStatusMetricsRepository metricsRepo;
+    private final DatasetVersionRepository versionRepo;
+    private final BracketIndexProvider indexProvider;
 
+    @Transactional(rollbackFor = Exception.class)
     public void importData(InputStream in) throws CsvValidationException, IOException {
         List<BracketEntry> entries = csvUtil.importFromStream(in);
 
@@ -44,6 +67,7 @@ public class TaxDataImportService {
 
         Map<Integer, List<BracketEntry>> byYear = entries.stream()
                 .collect(Collectors.groupingBy(BracketEntry::getYear));
+        int inserted = 0;
 
         for (var e: byYear.entrySet()) {
             Integer year = e.getKey();
@@ -57,15 +81,25 @@ public class TaxDataImportService {
 
             if (yearEntries.size() == FilingStatus.values().length
                     && yearEntries.stream().allMatch(x -> x.getRate() == 0)) {
-                try {
-                    noTaxRepo.save(new NoIncomeTaxYear(year));
-                } catch (DataIntegrityViolationException e1) {
+                if (noTaxRepo.existsById(year)) {
                     System.out.printf("NoIncomeTaxYear %d already present; skipping.%n", year);
+                } else {
+                    noTaxRepo.save(new NoIncomeTaxYear(year));
+                    inserted++;
                 }
                 continue;
             }
 
+            Set<List<Object>> seen = new HashSet<>();
             for (BracketEntry entry : yearEntries) {
+                if (!seen.add(bracketKey(entry))) {
+                    System.out.printf(
+                            "Duplicate bracket detected; skipping year=%d status=%s start=%s end=%s%n",
+                            entry.getYear(), entry.getStatus(), entry.getRangeStart(), entry.getRangeEnd()
+                    );
+                    continue;
+                }
+
                 TaxRate tr = new TaxRate(
                         entry.getYear(),
                         entry.getStatus(),
@@ -73,17 +107,37 @@ public class TaxDataImportService {
                         entry.getRangeStart(),
                         entry.getRangeEnd()
                 );
-                try {
-                    repo.save(tr);
-                } catch (DataIntegrityViolationException e2) {
-                    System.out.printf(
-                            "Duplicate bracket detected; skipping year=%d status=%s start=%s end=%s%n",
-                            entry.getYear(), entry.getStatus(), entry.getRangeStart(), entry.getRangeEnd()
-                    );
-                }
+                repo.save(tr);
+                inserted++;
             }
         }
 
         entries.clear();
+
+        // Re-importing an unchanged file (e.g. after a restart) must not invalidate every cache in the cluster
+        if (inserted == 0) {
+            log.info("Import added no rows; dataset version unchanged");
+            return;
+        }
+
+        // Rebuild the per-year aggregates from the rows as they now stand
+        metricsRepo.deleteAllRows();
+        metricsRepo.insertFromTaxRates();
+
+        // Every import that changed the data gets a new version, so cached responses are revalidated
+        versionRepo.bump();
+        versionRepo.announce();
+
+        // Publish the new rows to the read path once they are committed
+        indexProvider.refreshAfterCommit();
+    }
+
+    /**
+     * Returns the key of the unique index on {@code historical_tax_rates}, with amounts compared by value.
+     */
+    private static List<Object> bracketKey(BracketEntry entry) {
+        return Arrays.asList(entry.getStatus(),
+                entry.getRangeStart() == null ? null : entry.getRangeStart().stripTrailingZeros(),
+                entry.getRangeEnd() == null ? null : entry.getRangeEnd().stripTrailingZeros());
     }
 }
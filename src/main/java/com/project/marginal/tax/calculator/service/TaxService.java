@@ -11,20 +11,27 @@
 
 package com.project.marginal.tax.calculator.service;
 
+import com.project.marginal.tax.calculator.cache.BreakdownResultCache;
 import com.project.marginal.tax.calculator.dto.*;
+import com.project.marginal.tax.calculator.engine.BatchEvaluator;
+import com.project.marginal.tax.calculator.engine.Bracket;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.engine.FixedPoint;
+import com.project.marginal.tax.calculator.engine.ScheduleMetrics;
+import com.project.marginal.tax.calculator.engine.TaxSchedule;
+import com.project.marginal.tax.calculator.engine.YearCatalog;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
-import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
-import com.project.marginal.tax.calculator.entity.TaxRate;
-import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
-import com.project.marginal.tax.calculator.repository.TaxRateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Year;
 import java.util.*;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
+import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.dollarFormat;
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.percentFormat;
 
 @Service
@@ -33,23 +40,62 @@ public class TaxService {
 
     final int MIN_YEAR = 1862;
     final int MAX_YEAR = Year.now().getValue() - 1;
+    static final BigDecimal MAX_INCOME = FixedPoint.centsToDollars(FixedPoint.MAX_INCOME_CENTS);
 
-    private final TaxRateRepository taxRateRepo;
-    private final NoIncomeTaxYearRepository noTaxRepo;
+    /** Largest number of inputs evaluated by one task of a bulk simulation. */
+    static final int BULK_CHUNK_SIZE = 4096;
+
+    /** Largest grid a single curve request may sample. */
+    static final int MAX_CURVE_POINTS = 10_000;
+
+    /** Metrics reported for a year that has no brackets for the requested status. */
+    private static final ScheduleMetrics NO_METRICS = ScheduleMetrics.of(List.of());
+
+    /** Largest number of incomes a cross-year comparison may evaluate. */
+    static final int MAX_COMPARE_INCOMES = 100;
+
+    private final BracketIndexProvider indexProvider;
+    private final BulkSimulationExecutor bulkExecutor;
+    private final BreakdownResultCache breakdownCache;
 
     private boolean isNotValidYear(int year) {
         return year < MIN_YEAR || year > MAX_YEAR;
     }
-    private boolean isNoTaxYear(int year) {
-        return noTaxRepo.existsById(year);
+
+    private String noTaxMessage(BracketIndex index, int year) {
+        return index.noTaxMessage(year).orElse("No income tax for year " + year);
     }
 
-    private void validateTaxInput(TaxInput taxInput) {
+    private static TaxRateDto toDto(TaxSchedule schedule, Bracket bracket) {
+        return new TaxRateDto(
+                schedule.getYear(),
+                schedule.getStatus(),
+                bracket.rangeStart().floatValue(),
+                bracket.rangeEnd() != null ? bracket.rangeEnd().floatValue() : 0,
+                bracket.rate()
+        );
+    }
+
+    /**
+     * Checks that the input has a supported year, a filing status and a positive income within range.
+     *
+     * @throws IllegalArgumentException if it does not
+     */
+    public void validateTaxInput(TaxInput taxInput) {
         if (isNotValidYear(taxInput.getYear())) {
             throw new IllegalArgumentException("Invalid year: " + taxInput.getYear());
         }
 
-        if (taxInput.getIncome() <= 0) {
+        if (taxInput.getIncomeAmount() == null) {
+            throw new IllegalArgumentException("Income must be provided");
+        }
+
+        if (taxInput.getIncomeAmount().compareTo(MAX_INCOME) > 0) {
+            throw new IllegalArgumentException("Income must not exceed " + dollarFormat(MAX_INCOME.doubleValue()));
+        }
+
+        // Checked before converting to cents, which fails for amounts far outside the supported range
+        if (taxInput.getIncomeAmount().signum() <= 0 || taxInput.getIncomeCents() <= 0) {
             throw new IllegalArgumentException("Income must be greater than 0");
         }
 
@@ -58,19 +104,36 @@ public class TaxService {
         }
     }
 
-    public List<Integer> listYears() {
-        List <Integer> noTaxYears = noTaxRepo.findAll().stream()
-                .map(NoIncomeTaxYear::getYear)
-                .toList();
+    /**
+     * Returns the version of the dataset currently served (see {@link BracketIndex#version()}).
+     */
+    public long datasetVersion() {
+        return indexProvider.current().version();
+    }
 
-        List<Integer> bracketYears =  taxRateRepo.findAll().stream()
-                .map(TaxRate::getYear)
-                .toList();
+    public List<Integer> listYears() {
+        return indexProvider.current().years();
+    }
 
-        return Stream.concat(bracketYears.stream(), noTaxYears.stream())
-                .distinct()
-                .sorted()
-                .toList();
+    /**
+     * Returns, for every year on record, whether it had income tax and which filing statuses have brackets.
+     */
+    public YearAvailabilityResponse getYearAvailability() {
+        YearCatalog catalog = indexProvider.current().catalog();
+        int[] years = new int[catalog.size()];
+        boolean[] noIncomeTax = new boolean[catalog.size()];
+        Map<FilingStatus, boolean[]> available = new EnumMap<>(FilingStatus.class);
+        for (FilingStatus status : FilingStatus.values()) {
+            available.put(status, new boolean[catalog.size()]);
+        }
+        for (int i = 0; i < years.length; i++) {
+            years[i] = catalog.yearAt(i);
+            noIncomeTax[i] = catalog.isNoTaxYearAt(i);
+            for (FilingStatus status : FilingStatus.values()) {
+                available.get(status)[i] = catalog.hasBracketsAt(i, status);
+            }
+        }
+        return new YearAvailabilityResponse(years, noIncomeTax, available);
     }
 
     public Map<String, String> getFilingStatus() {
@@ -78,26 +141,14 @@ public class TaxService {
     }
 
     public List<TaxRateDto> getTaxRateByYear(int year) {
-        return taxRateRepo.findByYear(year).stream()
-                .map(taxRate -> new TaxRateDto(
-                        taxRate.getYear(),
-                        taxRate.getStatus(),
-                        taxRate.getRangeStart().floatValue(),
-                        taxRate.getRangeEnd() != null ? taxRate.getRangeEnd().floatValue(): 0,
-                        taxRate.getRate()
-                ))
+        return indexProvider.current().schedules(year).stream()
+                .flatMap(schedule -> schedule.getBrackets().stream().map(bracket -> toDto(schedule, bracket)))
                 .toList();
     }
 
     public List<TaxRateDto> getTaxRateByYearAndStatus(int year, FilingStatus status) {
-        return taxRateRepo.findByYearAndStatus(year, status).stream()
-                .map(taxRate -> new TaxRateDto(
-                        taxRate.getYear(),
-                        taxRate.getStatus(),
-                        taxRate.getRangeStart().floatValue(),
-                        taxRate.getRangeEnd() != null ? taxRate.getRangeEnd().floatValue(): 0,
-                        taxRate.getRate()
-                ))
+        return indexProvider.current().schedule(year, status).stream()
+                .flatMap(schedule -> schedule.getBrackets().stream().map(bracket -> toDto(schedule, bracket)))
                 .toList();
     }
 
@@ -106,11 +157,9 @@ public class TaxService {
             throw new IllegalArgumentException("Invalid year: " + year);
         }
 
-        if (isNoTaxYear(year)) {
-            String msg = noTaxRepo.findById(year)
-                    .map(NoIncomeTaxYear::getMessage)
-                    .orElse("No income tax for year " + year);
-            return List.of(TaxRateDto.noIncomeTax(year, status, msg));
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(year)) {
+            return List.of(TaxRateDto.noIncomeTax(year, status, noTaxMessage(index, year)));
         }
 
         if (status == null) {
@@ -120,83 +169,101 @@ public class TaxService {
         }
     }
 
-    public List<TaxRate> getTaxRateByYearAndStatusAndRangeStartLessThan(int year, FilingStatus status, float income) {
-        return taxRateRepo.findByYearAndStatusAndRangeStartLessThan(year, status, new BigDecimal(income));
-    }
+    /**
+     * Raw variant of {@link #getRates}: bounds in cents and rates as fractions, without formatting.
+     */
+    public List<RateBracket> getRateBrackets(int year, FilingStatus status) {
+        if (isNotValidYear(year)) {
+            throw new IllegalArgumentException("Invalid year: " + year);
+        }
 
-    public List<Float> calculateTax(TaxInput taxInput) {
-        List<TaxRate> taxRates = getTaxRateByYearAndStatusAndRangeStartLessThan(
-                taxInput.getYear(),
-                taxInput.getStatus(),
-                taxInput.getIncome()
-        );
-        var taxPaidPerBracket = new ArrayList<Float>();
-        float income = taxInput.getIncome();
-
-        for (TaxRate taxRate : taxRates) {
-            float taxPaid;
-            if (income > taxRate.getRangeStart().floatValue()) {
-                if (taxRate.getRangeEnd() == null) {
-                    taxPaid = (income - taxRate.getRangeStart().floatValue()) * (taxRate.getRate());
-                } else {
-                    float rangeEnd = Math.min(income, taxRate.getRangeEnd().floatValue());
-                    taxPaid = (rangeEnd - taxRate.getRangeStart().floatValue()) * (taxRate.getRate());
-                }
-                taxPaidPerBracket.add(taxPaid);
-            }
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(year)) {
+            return List.of(RateBracket.noIncomeTax(year, status, noTaxMessage(index, year)));
         }
 
-        return taxPaidPerBracket;
+        Collection<TaxSchedule> schedules = status == null
+                ? index.schedules(year)
+                : index.schedule(year, status).stream().toList();
+        List<RateBracket> brackets = new ArrayList<>();
+        for (TaxSchedule schedule : schedules) {
+            for (int i = 0; i < schedule.size(); i++) {
+                long end = schedule.endCents(i);
+                brackets.add(new RateBracket(schedule.getYear(), schedule.getStatus(), schedule.startCents(i),
+                        end == TaxSchedule.NO_UPPER_LIMIT ? null : end, FixedPoint.rateOf(schedule.rateMicros(i)), null));
+            }
+        }
+        return brackets;
     }
 
-    public List<TaxPaidInfo> getTaxPaidInfo(TaxInput taxInput) {
-        List<TaxRate> taxRates = getTaxRateByYearAndStatusAndRangeStartLessThan(
-                taxInput.getYear(),
-                taxInput.getStatus(),
-                taxInput.getIncome()
-        );
-        var taxPaidPerBracket = calculateTax(taxInput);
-        var taxPaidInfos = new ArrayList<TaxPaidInfo>();
-        float income = taxInput.getIncome();
+    /**
+     * Computes the per-bracket amounts, total and average rate for the given input in a single pass
+     * over the schedule.
+     */
+    private TaxResult breakdown(TaxSchedule schedule, TaxInput taxInput) {
+        long income = taxInput.getIncomeCents();
+        int reached = schedule == null ? 0 : schedule.reachedCount(income);
 
-        if (taxRates.isEmpty()) {
+        if (reached == 0) {
             throw new IllegalArgumentException("No tax rates found for the given year and status");
         }
 
-        for (int i = 0; i < taxRates.size(); i++) {
-            TaxRate taxRate = taxRates.get(i);
-            float rangeStart = taxRate.getRangeStart().floatValue();
-            float rangeEnd = taxRate.getRangeEnd() != null ? Math.min(income, taxRate.getRangeEnd().floatValue()) : income;
-            float taxPaid = taxPaidPerBracket.get(i);
+        var bracketTaxes = new ArrayList<BracketTax>(reached);
 
-            TaxPaidInfo info = new TaxPaidInfo(taxInput.getYear(), taxInput.getStatus(), rangeStart, rangeEnd, taxRate.getRate(), taxPaid);
-            taxPaidInfos.add(info);
+        for (int i = 0; i < reached; i++) {
+            long rangeEnd = Math.min(income, schedule.endCents(i));
+            bracketTaxes.add(new BracketTax(taxInput.getYear(), taxInput.getStatus(), schedule.startCents(i), rangeEnd,
+                    FixedPoint.rateOf(schedule.rateMicros(i)), schedule.bracketTaxCents(i, income)));
         }
 
-        return taxPaidInfos;
+        // Results may be cached and shared between requests
+        return TaxResult.ofCents(Collections.unmodifiableList(bracketTaxes), schedule.totalTaxCents(income), income);
     }
 
-    public float getTotalTaxPaid(TaxInput taxInput) {
-        return (float) calculateTax(taxInput).stream()
-                .mapToDouble(Float::floatValue)
-                .sum();
+    /**
+     * Computes the per-bracket amounts, total and average rate for the given input as raw cents and rates.
+     * Results for the current dataset are served from the {@link BreakdownResultCache}.
+     */
+    public TaxResult computeBreakdown(TaxInput taxInput) throws IllegalArgumentException {
+        validateTaxInput(taxInput);
+
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(taxInput.getYear())) {
+            return TaxResult.noIncomeTax(taxInput.getIncomeCents(), noTaxMessage(index, taxInput.getYear()));
+        }
+
+        return breakdownCache.get(index, taxInput.getYear(), taxInput.getStatus(), taxInput.getIncomeCents(),
+                () -> breakdown(index.schedule(taxInput.getYear(), taxInput.getStatus()).orElse(null), taxInput));
     }
 
-    public TaxPaidResponse calculateTaxBreakdown(TaxInput taxInput) throws IllegalArgumentException {
+    /**
+     * Computes only the total and average rate for the given input, as raw cents and rates.
+     */
+    public TaxResult computeTotals(TaxInput taxInput) throws IllegalArgumentException {
         validateTaxInput(taxInput);
 
-        if (isNoTaxYear(taxInput.getYear())) {
-            String msg = noTaxRepo.findById(taxInput.getYear())
-                    .map(NoIncomeTaxYear::getMessage)
-                    .orElse("No income tax for year " + taxInput.getYear());
-            return TaxPaidResponse.noIncomeTax(msg);
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(taxInput.getYear())) {
+            return TaxResult.noIncomeTax(taxInput.getIncomeCents(), noTaxMessage(index, taxInput.getYear()));
         }
 
-        List<TaxPaidInfo> taxPaidInfos = getTaxPaidInfo(taxInput);
-        float totalTaxPaid = getTotalTaxPaid(taxInput);
-        float avgRate = totalTaxPaid / taxInput.getIncome();
+        long income = taxInput.getIncomeCents();
+        TaxSchedule schedule = index.schedule(taxInput.getYear(), taxInput.getStatus())
+                .filter(s -> s.reachedCount(income) > 0)
+                .orElseThrow(() -> new IllegalArgumentException("No tax rates found for the given year and status"));
 
-        return new TaxPaidResponse(taxPaidInfos, totalTaxPaid, avgRate);
+        return TaxResult.ofCents(List.of(), schedule.totalTaxCents(income), income);
+    }
+
+    public TaxPaidResponse calculateTaxBreakdown(TaxInput taxInput) throws IllegalArgumentException {
+        return TaxPaidResponse.of(computeBreakdown(taxInput));
+    }
+
+    /**
+     * Computes only the total and average rate for the given input, skipping the per-bracket breakdown.
+     */
+    public TaxPaidResponse calculateTaxTotals(TaxInput taxInput) throws IllegalArgumentException {
+        return TaxPaidResponse.of(computeTotals(taxInput));
     }
 
     public TaxSummaryResponse getSummary(int year, FilingStatus status) throws IllegalArgumentException {
@@ -205,34 +272,18 @@ public class TaxService {
             throw new IllegalArgumentException("Invalid year: " + year);
         }
 
-        if (isNoTaxYear(year)) {
-            String msg = noTaxRepo.findById(year).map(NoIncomeTaxYear::getMessage)
-                    .orElse("No income tax for year " + year);
-            return TaxSummaryResponse.noIncomeTax(year, status, msg);
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(year)) {
+            return TaxSummaryResponse.noIncomeTax(year, status, noTaxMessage(index, year));
         }
 
-        List<TaxRate> taxRates = taxRateRepo.findByYearAndStatus(year, status);
-        int bracketCount = taxRates.size();
-
-        BigDecimal minThreshold = taxRates.stream()
-                .map(TaxRate::getRangeStart)
-                .min(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
-
-        BigDecimal maxThreshold = taxRates.stream()
-                .map(TaxRate::getRangeEnd)
-                .filter(Objects::nonNull)
-                .max(BigDecimal::compareTo)
-                .orElse(BigDecimal.ZERO);
-
-        double avgRateRaw = taxRates.stream()
-                .mapToDouble(TaxRate::getRate)
-                .average()
-                .orElse(0.0);
+        ScheduleMetrics metrics = index.metrics(year, status).orElse(NO_METRICS);
+        double avgRateRaw = metrics.averageRate();
 
         String averageRate = avgRateRaw == 0.0 ? "No Income Tax" : percentFormat(avgRateRaw);
 
-        return TaxSummaryResponse.normal(year, status, bracketCount, minThreshold, maxThreshold, averageRate);
+        return TaxSummaryResponse.normal(year, status, metrics.bracketCount(), metrics.minThreshold(),
+                metrics.maxThreshold(), averageRate);
     }
 
     public List<YearMetric> getHistory(
@@ -249,71 +300,524 @@ public class TaxService {
             throw new IllegalArgumentException("Unsupported metric: " + null);
         }
 
-        List<Integer> bracketYears = taxRateRepo.findByStatus(status).stream()
-                .map(TaxRate::getYear)
-                .distinct()
-                .sorted()
-                .filter(year -> year >= startYear && year <= endYear)
-                .toList();
+        BracketIndex index = indexProvider.current();
 
-        List<Integer> noTaxYears = noTaxRepo.findAll().stream()
-                .map(NoIncomeTaxYear::getYear)
+        List<Integer> bracketYears = index.years(status).stream()
                 .filter(year -> year >= startYear && year <= endYear)
                 .toList();
 
+        Set<Integer> noTaxYears = index.noTaxYears().subSet(startYear, true, endYear, true);
+
         List<Integer> years = Stream.concat(bracketYears.stream(), noTaxYears.stream())
                 .distinct()
                 .sorted()
                 .toList();
 
         return years.stream().map(y -> {
-            List<TaxRate> rates = taxRateRepo.findByYearAndStatus(y, status);
             if (noTaxYears.contains(y)) {
-                String msg = noTaxRepo.findById(y)
-                        .map(NoIncomeTaxYear::getMessage)
-                        .orElse("No income tax for year " + y);
-                return  YearMetric.noIncomeTax(y, metric, msg);
+                return  YearMetric.noIncomeTax(y, metric, noTaxMessage(index, y));
             }
-            String val;
-            switch (metric) {
-                case TOP_RATE -> {
-                    double maxRate = rates.stream()
-                            .mapToDouble(TaxRate::getRate)
-                            .max()
-                            .orElse(0.0);
-                    val = maxRate==0d? "No Income Tax" : percentFormat(maxRate);
-                }
+            ScheduleMetrics metrics = index.metrics(y, status).orElse(NO_METRICS);
+            return new YearMetric(y, metric, formatMetric(metric, metricValue(metrics, metric)));
+        }).toList();
+    }
 
-                case MIN_RATE -> {
-                    double minRate = rates.stream()
-                            .mapToDouble(TaxRate::getRate)
-                            .min()
-                            .orElse(0.0);
-                    val = minRate==0d? "No Income Tax" :  percentFormat(minRate);
-                }
+    /**
+     * Returns every requested metric for every requested status in each year of the range, computed in one
+     * pass over the snapshot. Values are {@code null} where the status has no brackets that year.
+     *
+     * @param statuses the statuses to include, or all of them if empty
+     * @param metrics  the metrics to include, or all of them if empty
+     */
+    public HistoryMatrixResponse getHistoryMatrix(List<FilingStatus> statuses, List<Metric> metrics,
+                                                  Integer startYear, Integer endYear) throws IllegalArgumentException {
+        BracketIndex index = indexProvider.current();
+        List<Integer> years = yearsInRange(index, startYear, endYear);
+        List<FilingStatus> wantedStatuses = orAll(statuses, FilingStatus.values());
+        List<Metric> wantedMetrics = orAll(metrics, Metric.values());
+
+        boolean[] noIncomeTax = new boolean[years.size()];
+        Map<FilingStatus, Map<Metric, Double[]>> values = new EnumMap<>(FilingStatus.class);
+        for (FilingStatus status : wantedStatuses) {
+            Map<Metric, Double[]> columns = new EnumMap<>(Metric.class);
+            for (Metric metric : wantedMetrics) {
+                columns.put(metric, new Double[years.size()]);
+            }
+            values.put(status, columns);
+        }
 
-                case AVERAGE_RATE -> {
-                    double avgRate = rates.stream()
-                            .mapToDouble(TaxRate::getRate)
-                            .average()
-                            .orElse(0.0);
-                    val = avgRate==0d? "No Income Tax" :  percentFormat(avgRate);
+        for (int y = 0; y < years.size(); y++) {
+            int year = years.get(y);
+            noIncomeTax[y] = index.isNoTaxYear(year);
+            if (noIncomeTax[y]) {
+                continue;
+            }
+            for (FilingStatus status : wantedStatuses) {
+                ScheduleMetrics scheduleMetrics = index.metrics(year, status).orElse(null);
+                if (scheduleMetrics == null) {
+                    continue;
                 }
-
-                case BRACKET_COUNT -> {
-                    int bracketCount = rates.size();
-                    val = String.valueOf(bracketCount);
+                Map<Metric, Double[]> columns = values.get(status);
+                for (Metric metric : wantedMetrics) {
+                    columns.get(metric)[y] = metricValue(scheduleMetrics, metric);
                 }
+            }
+        }
+        return new HistoryMatrixResponse(years, wantedStatuses, wantedMetrics, noIncomeTax, values);
+    }
+
+    /**
+     * Returns the raw value of a metric: rates as fractions, amounts in dollars.
+     */
+    private static double metricValue(ScheduleMetrics metrics, Metric metric) {
+        return switch (metric) {
+            case TOP_RATE -> cleanRate(metrics.maxRate());
+            case MIN_RATE -> cleanRate(metrics.minRate());
+            case AVERAGE_RATE -> metrics.averageRate();
+            case BRACKET_COUNT -> metrics.bracketCount();
+            case TOP_BRACKET_START -> metrics.topBracketStart().doubleValue();
+            case MIN_BRACKET_WIDTH -> metrics.minBracketWidth().doubleValue();
+            case MAX_BRACKET_WIDTH -> metrics.maxBracketWidth().doubleValue();
+            case AVERAGE_BRACKET_WIDTH -> metrics.averageBracketWidth().doubleValue();
+            case RATE_SPREAD -> FixedPoint.rateOf(
+                    FixedPoint.toRateMicros(metrics.maxRate()) - FixedPoint.toRateMicros(metrics.minRate()));
+        };
+    }
+
+    private static String formatMetric(Metric metric, double value) {
+        return switch (metric) {
+            case TOP_RATE, MIN_RATE, AVERAGE_RATE -> value == 0d ? "No Income Tax" : percentFormat(value);
+            case BRACKET_COUNT -> String.valueOf((int) value);
+            case RATE_SPREAD -> percentFormat(value);
+            case TOP_BRACKET_START, MIN_BRACKET_WIDTH, MAX_BRACKET_WIDTH, AVERAGE_BRACKET_WIDTH -> dollarFormat(value);
+        };
+    }
 
-            default -> throw new IllegalArgumentException("Unsupported metric: " + metric);
+    /**
+     * Drops the float noise from a stored rate, e.g. 0.37f becomes 0.37 rather than 0.3700000047683716.
+     */
+    private static double cleanRate(float rate) {
+        return FixedPoint.rateOf(FixedPoint.toRateMicros(rate));
+    }
+
+    /**
+     * Returns the years on record within the optional range, validating the bounds that are given.
+     */
+    private List<Integer> yearsInRange(BracketIndex index, Integer startYear, Integer endYear) {
+        int first = startYear == null ? Integer.MIN_VALUE : startYear;
+        int last = endYear == null ? Integer.MAX_VALUE : endYear;
+        if ((startYear != null && isNotValidYear(startYear)) || (endYear != null && isNotValidYear(endYear))
+                || first > last) {
+            throw new IllegalArgumentException("Invalid year range: " + startYear + " - " + endYear);
         }
-        return new YearMetric(y, metric, val);
-        }).toList();
+        return index.years().stream()
+                .filter(year -> year >= first && year <= last)
+                .toList();
+    }
+
+    private static <T> List<T> orAll(List<T> requested, T[] all) {
+        return requested == null || requested.isEmpty() ? List.of(all) : requested.stream().distinct().toList();
+    }
+
+    /**
+     * Validates every input in order, answers inputs for no-tax years directly into {@code results}, and
+     * groups the remaining input positions by schedule so each schedule is resolved once.
+     */
+    private Map<TaxSchedule, List<Integer>> groupBySchedule(BracketIndex index, List<TaxInput> taxInputs,
+                                                            TaxResult[] results) {
+        Map<TaxSchedule, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int i = 0; i < results.length; i++) {
+            TaxInput taxInput = taxInputs.get(i);
+            validateTaxInput(taxInput);
+
+            if (index.isNoTaxYear(taxInput.getYear())) {
+                results[i] = TaxResult.noIncomeTax(taxInput.getIncomeCents(), noTaxMessage(index, taxInput.getYear()));
+                continue;
+            }
+
+            long income = taxInput.getIncomeCents();
+            TaxSchedule schedule = index.schedule(taxInput.getYear(), taxInput.getStatus())
+                    .filter(s -> s.reachedCount(income) > 0)
+                    .orElseThrow(() -> new IllegalArgumentException("No tax rates found for the given year and status"));
+            groups.computeIfAbsent(schedule, s -> new ArrayList<>()).add(i);
+        }
+        return groups;
+    }
+
+    /**
+     * Evaluates the groups in parallel on the bulk pool, splitting large groups into chunks.
+     */
+    private void evaluateGroups(Map<TaxSchedule, List<Integer>> groups,
+                                BiConsumer<TaxSchedule, List<Integer>> evaluator) {
+        List<Runnable> tasks = new ArrayList<>();
+        groups.forEach((schedule, positions) -> {
+            for (int from = 0; from < positions.size(); from += BULK_CHUNK_SIZE) {
+                List<Integer> chunk = positions.subList(from, Math.min(positions.size(), from + BULK_CHUNK_SIZE));
+                tasks.add(() -> evaluator.accept(schedule, chunk));
+            }
+        });
+        if (!tasks.isEmpty()) {
+            bulkExecutor.invokeAll(tasks);
+        }
+    }
+
+    /**
+     * Computes the breakdown for every input as raw cents and rates. Inputs are grouped by year and status and
+     * the groups are evaluated in parallel on the bulk pool; results are returned in input order.
+     */
+    public List<TaxResult> computeBulk(List<TaxInput> taxInputs) {
+        BracketIndex index = indexProvider.current();
+        TaxResult[] results = new TaxResult[taxInputs.size()];
+
+        evaluateGroups(groupBySchedule(index, taxInputs, results), (schedule, positions) -> {
+            for (int position : positions) {
+                results[position] = breakdown(schedule, taxInputs.get(position));
+            }
+        });
+
+        return List.of(results);
     }
 
+    /**
+     * Computes totals for every input as raw cents and rates, evaluating all inputs that share a year and status
+     * as one batch (see {@link BatchEvaluator}) on the bulk pool. Results are returned in input order and match
+     * {@link #computeTotals}.
+     */
+    public List<TaxResult> computeBulkTotals(List<TaxInput> taxInputs) {
+        BracketIndex index = indexProvider.current();
+        TaxResult[] results = new TaxResult[taxInputs.size()];
+
+        evaluateGroups(groupBySchedule(index, taxInputs, results), (schedule, positions) -> {
+            long[] incomes = new long[positions.size()];
+            for (int j = 0; j < incomes.length; j++) {
+                incomes[j] = taxInputs.get(positions.get(j)).getIncomeCents();
+            }
+            long[] totals = BatchEvaluator.totalTaxCents(schedule, incomes);
+            for (int j = 0; j < incomes.length; j++) {
+                results[positions.get(j)] = TaxResult.ofCents(List.of(), totals[j], incomes[j]);
+            }
+        });
+
+        return List.of(results);
+    }
+
+    /**
+     * Formatted variant of {@link #computeBulk}.
+     */
     public List<TaxPaidResponse> simulateBulk(List<TaxInput> taxInputs) {
-        return taxInputs.stream()
-                .map(this::calculateTaxBreakdown)
+        return computeBulk(taxInputs).stream().map(TaxPaidResponse::of).toList();
+    }
+
+    /**
+     * Formatted variant of {@link #computeBulkTotals}; results match {@link #calculateTaxTotals}.
+     */
+    public List<TaxPaidResponse> simulateTotals(List<TaxInput> taxInputs) {
+        return computeBulkTotals(taxInputs).stream().map(TaxPaidResponse::of).toList();
+    }
+
+    /**
+     * Columnar variant of {@link #simulateTotals} for the binary batch format. Rows are grouped by schedule
+     * through a sort of packed keys rather than per-row objects, and evaluated on the bulk pool. Invalid rows
+     * are flagged in the result instead of failing the whole batch.
+     */
+    public TaxBatchResult simulateColumns(TaxBatch batch) {
+        BracketIndex index = indexProvider.current();
+        int n = batch.size();
+        TaxBatchResult result = new TaxBatchResult(n);
+
+        // (schedule key << 32 | row), so sorting makes each schedule's rows contiguous, in row order
+        long[] keyed = new long[n];
+        int valid = 0;
+        for (int row = 0; row < n; row++) {
+            int year = batch.year(row);
+            FilingStatus status = batch.status(row);
+            long income = batch.incomeCents(row);
+            if (isNotValidYear(year) || status == null || income <= 0 || income > FixedPoint.MAX_INCOME_CENTS) {
+                result.setRowStatus(row, TaxBatchResult.ROW_INVALID);
+            } else if (index.isNoTaxYear(year)) {
+                result.setRowStatus(row, TaxBatchResult.ROW_NO_INCOME_TAX);
+            } else {
+                long key = (long) year * FilingStatus.values().length + status.ordinal();
+                keyed[valid++] = key << 32 | row;
+            }
+        }
+        Arrays.sort(keyed, 0, valid);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int from = 0; from < valid; ) {
+            long key = keyed[from] >>> 32;
+            int to = from;
+            while (to < valid && keyed[to] >>> 32 == key) {
+                to++;
+            }
+            int year = (int) (key / FilingStatus.values().length);
+            FilingStatus status = FilingStatus.values()[(int) (key % FilingStatus.values().length)];
+            TaxSchedule schedule = index.schedule(year, status).orElse(null);
+            for (int chunk = from; chunk < to; chunk += BULK_CHUNK_SIZE) {
+                int start = chunk;
+                int end = Math.min(to, chunk + BULK_CHUNK_SIZE);
+                tasks.add(() -> evaluateColumns(schedule, batch, keyed, start, end, result));
+            }
+            from = to;
+        }
+        if (!tasks.isEmpty()) {
+            bulkExecutor.invokeAll(tasks);
+        }
+        return result;
+    }
+
+    private static void evaluateColumns(TaxSchedule schedule, TaxBatch batch, long[] keyed, int from, int to,
+                                        TaxBatchResult result) {
+        long[] incomes = new long[to - from];
+        for (int i = from; i < to; i++) {
+            incomes[i - from] = batch.incomeCents((int) keyed[i]);
+        }
+        long[] totals = schedule == null ? null : BatchEvaluator.totalTaxCents(schedule, incomes);
+
+        for (int i = from; i < to; i++) {
+            int row = (int) keyed[i];
+            long income = incomes[i - from];
+            if (schedule == null || schedule.reachedCount(income) == 0) {
+                result.setRowStatus(row, TaxBatchResult.ROW_INVALID);
+                continue;
+            }
+            long total = totals[i - from];
+            int avgRateBp = (int) ((total * 10_000 + income / 2) / income);
+            int marginalRateBp = (schedule.marginalRateMicros(income) + 50) / 100;
+            result.set(row, total, avgRateBp, marginalRateBp);
+        }
+    }
+
+    /**
+     * Returns the smallest gross income at which the requested target (total tax, net income or effective
+     * rate) is reached, solved in closed form from the schedule's cumulative tax instead of by search.
+     * In years without income tax, the schedule is treated as empty.
+     */
+    public SolveResponse solve(SolveRequest request) throws IllegalArgumentException {
+        return solve(indexProvider.current(), request);
+    }
+
+    /**
+     * Solves every request against one snapshot; results are in request order.
+     */
+    public List<SolveResponse> solveAll(List<SolveRequest> requests) throws IllegalArgumentException {
+        BracketIndex index = indexProvider.current();
+        return requests.stream()
+                .map(request -> solve(index, request))
                 .toList();
     }
+
+    private SolveResponse solve(BracketIndex index, SolveRequest request) {
+        if (request.year() == null || isNotValidYear(request.year())) {
+            throw new IllegalArgumentException("Invalid year: " + request.year());
+        }
+        if (request.status() == null) {
+            throw new IllegalArgumentException("Filing status must be provided");
+        }
+        if (request.target() == null) {
+            throw new IllegalArgumentException("Target must be provided");
+        }
+        if (request.value() == null || request.value().signum() < 0) {
+            throw new IllegalArgumentException("Target value must be zero or greater");
+        }
+
+        TaxSchedule schedule = index.isNoTaxYear(request.year())
+                ? TaxSchedule.empty(request.year(), request.status())
+                : index.schedule(request.year(), request.status())
+                        .orElseThrow(() -> new IllegalArgumentException("No tax rates found for the given year and status"));
+
+        OptionalLong gross = switch (request.target()) {
+            case TAX -> schedule.incomeForTax(toMoneyCents(request.value()));
+            case NET_INCOME -> schedule.incomeForNet(toMoneyCents(request.value()));
+            case EFFECTIVE_RATE -> {
+                if (request.value().compareTo(BigDecimal.ONE) >= 0) {
+                    throw new IllegalArgumentException("Effective rate must be less than 1");
+                }
+                yield schedule.incomeForEffectiveRate(
+                        request.value().movePointRight(6).setScale(0, RoundingMode.HALF_UP).intValueExact());
+            }
+        };
+
+        if (gross.isEmpty()) {
+            return SolveResponse.unreachable(request,
+                    "Target is not reached by any income up to " + dollarFormat(MAX_INCOME.doubleValue()));
+        }
+        long grossCents = gross.getAsLong();
+        return SolveResponse.solved(request, grossCents, schedule.totalTaxCents(grossCents));
+    }
+
+    private static long toMoneyCents(BigDecimal dollars) {
+        if (dollars.compareTo(MAX_INCOME) > 0) {
+            throw new IllegalArgumentException("Target value must not exceed " + dollarFormat(MAX_INCOME.doubleValue()));
+        }
+        return FixedPoint.toCents(dollars);
+    }
+
+    /**
+     * Returns the breakpoints of the tax function for a year and status and, when {@code gridCount} is
+     * given, its values at {@code gridStart + k * gridStep} for {@code k < gridCount}, computed in one batch.
+     * The grid starts at 0 when {@code gridStart} is omitted.
+     */
+    public TaxCurveResponse getCurve(int year, FilingStatus status, BigDecimal gridStart, BigDecimal gridStep,
+                                     Integer gridCount) throws IllegalArgumentException {
+        if (isNotValidYear(year)) {
+            throw new IllegalArgumentException("Invalid year: " + year);
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("Filing status must be provided");
+        }
+
+        BracketIndex index = indexProvider.current();
+        if (index.isNoTaxYear(year)) {
+            TaxSchedule none = TaxSchedule.empty(year, status);
+            return TaxCurveResponse.noIncomeTax(year, status, curveGrid(none, gridStart, gridStep, gridCount),
+                    noTaxMessage(index, year));
+        }
+
+        TaxSchedule schedule = index.schedule(year, status)
+                .orElseThrow(() -> new IllegalArgumentException("No tax rates found for the given year and status"));
+        return new TaxCurveResponse(year, status, curveBreakpoints(schedule),
+                curveGrid(schedule, gridStart, gridStep, gridCount), null);
+    }
+
+    private static List<TaxCurveResponse.Point> curveBreakpoints(TaxSchedule schedule) {
+        var points = new ArrayList<TaxCurveResponse.Point>();
+        if (schedule.size() == 0 || schedule.startCents(0) > 0) {
+            points.add(curvePoint(schedule, 0, 0));
+        }
+        for (int i = 0; i < schedule.size(); i++) {
+            points.add(curvePoint(schedule, schedule.startCents(i), schedule.rateMicros(i)));
+
+            // Tax stops growing where a bracket ends before the next one starts
+            long end = schedule.endCents(i);
+            boolean last = i == schedule.size() - 1;
+            if (end != TaxSchedule.NO_UPPER_LIMIT && (last ? end < FixedPoint.MAX_INCOME_CENTS : end < schedule.startCents(i + 1))) {
+                points.add(curvePoint(schedule, end, 0));
+            }
+        }
+        return points;
+    }
+
+    private static TaxCurveResponse.Point curvePoint(TaxSchedule schedule, long incomeCents, int marginalRateMicros) {
+        long taxMicros = schedule.taxMicros(incomeCents);
+        double effectiveRate = incomeCents == 0 ? 0 : (double) taxMicros / ((double) incomeCents * FixedPoint.RATE_SCALE);
+        return new TaxCurveResponse.Point(
+                FixedPoint.centsToDollars(incomeCents),
+                FixedPoint.centsToDollars(FixedPoint.microsToCents(taxMicros)),
+                effectiveRate,
+                FixedPoint.rateOf(marginalRateMicros));
+    }
+
+    private static TaxCurveResponse.Grid curveGrid(TaxSchedule schedule, BigDecimal start, BigDecimal step,
+                                                   Integer count) {
+        if (count == null) {
+            return null;
+        }
+        if (count < 1 || count > MAX_CURVE_POINTS) {
+            throw new IllegalArgumentException("Grid count must be between 1 and " + MAX_CURVE_POINTS);
+        }
+        if (start == null) {
+            start = BigDecimal.ZERO;
+        }
+        if (start.signum() < 0 || step == null || step.signum() <= 0) {
+            throw new IllegalArgumentException("Grid start must be zero or greater and step greater than 0");
+        }
+        if (start.add(step.multiply(BigDecimal.valueOf(count - 1L))).compareTo(MAX_INCOME) > 0) {
+            throw new IllegalArgumentException("Grid must not exceed " + dollarFormat(MAX_INCOME.doubleValue()));
+        }
+
+        long startCents = FixedPoint.toCents(start);
+        long stepCents = FixedPoint.toCents(step);
+        if (stepCents == 0) {
+            throw new IllegalArgumentException("Grid step must be at least one cent");
+        }
+        long[] incomes = new long[count];
+        for (int k = 0; k < count; k++) {
+            incomes[k] = startCents + k * stepCents;
+        }
+        long[] totals = BatchEvaluator.totalTaxCents(schedule, incomes);
+
+        BigDecimal[] income = new BigDecimal[count];
+        BigDecimal[] totalTax = new BigDecimal[count];
+        double[] effectiveRate = new double[count];
+        double[] marginalRate = new double[count];
+        for (int k = 0; k < count; k++) {
+            income[k] = FixedPoint.centsToDollars(incomes[k]);
+            totalTax[k] = FixedPoint.centsToDollars(totals[k]);
+            effectiveRate[k] = incomes[k] == 0 ? 0 : (double) totals[k] / incomes[k];
+            marginalRate[k] = FixedPoint.rateOf(schedule.marginalRateMicros(incomes[k]));
+        }
+        return new TaxCurveResponse.Grid(income, totalTax, effectiveRate, marginalRate);
+    }
+
+    /**
+     * Computes the tax on each income for each filing status in every year of the range that has either
+     * brackets for that status or no income tax. Years are evaluated inline against one snapshot: the whole
+     * range is a few thousand binary searches over the index, and keeping it off the bulk pool means a busy
+     * {@code /simulate} queue can never turn this interactive endpoint away.
+     *
+     * @param statuses  the statuses to compare, or all of them if empty
+     * @param startYear the first year, or {@code null} for the earliest year on record
+     * @param endYear   the last year, or {@code null} for the latest year on record
+     */
+    public List<YearTaxResult> compareYears(List<BigDecimal> incomes, List<FilingStatus> statuses,
+                                            Integer startYear, Integer endYear, YearComparisonSort sort)
+            throws IllegalArgumentException {
+        BracketIndex index = indexProvider.current();
+        List<Integer> years = yearsInRange(index, startYear, endYear);
+        if (incomes == null || incomes.isEmpty() || incomes.size() > MAX_COMPARE_INCOMES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_COMPARE_INCOMES + " incomes must be provided");
+        }
+        long[] incomeCents = new long[incomes.size()];
+        for (int i = 0; i < incomeCents.length; i++) {
+            BigDecimal income = incomes.get(i);
+            if (income == null || income.signum() <= 0 || income.compareTo(MAX_INCOME) > 0
+                    || FixedPoint.toCents(income) <= 0) {
+                throw new IllegalArgumentException("Income must be greater than 0 and not exceed "
+                        + dollarFormat(MAX_INCOME.doubleValue()) + ": " + income);
+            }
+            incomeCents[i] = FixedPoint.toCents(income);
+        }
+        List<FilingStatus> wanted = orAll(statuses, FilingStatus.values());
+
+        List<YearTaxResult> rows = new ArrayList<>();
+        for (int year : years) {
+            rows.addAll(compareYear(index, year, wanted, incomeCents));
+        }
+        if (sort == YearComparisonSort.BURDEN) {
+            rows.sort(Comparator.comparingDouble(YearTaxResult::effectiveRate).reversed()
+                    .thenComparingInt(YearTaxResult::year));
+        }
+        return rows;
+    }
+
+    private List<YearTaxResult> compareYear(BracketIndex index, int year, List<FilingStatus> statuses,
+                                            long[] incomeCents) {
+        List<YearTaxResult> rows = new ArrayList<>(statuses.size() * incomeCents.length);
+        boolean noTax = index.isNoTaxYear(year);
+        for (FilingStatus status : statuses) {
+            if (noTax) {
+                String message = noTaxMessage(index, year);
+                for (long income : incomeCents) {
+                    rows.add(YearTaxResult.noIncomeTax(year, status, FixedPoint.centsToDollars(income), message));
+                }
+                continue;
+            }
+            TaxSchedule schedule = index.schedule(year, status).orElse(null);
+            if (schedule == null) {
+                continue;
+            }
+            long[] totals = BatchEvaluator.totalTaxCents(schedule, incomeCents);
+            for (int i = 0; i < incomeCents.length; i++) {
+                rows.add(new YearTaxResult(year, status,
+                        FixedPoint.centsToDollars(incomeCents[i]),
+                        FixedPoint.centsToDollars(totals[i]),
+                        (double) totals[i] / incomeCents[i],
+                        FixedPoint.rateOf(schedule.marginalRateMicros(incomeCents[i])),
+                        null));
+            }
+        }
+        return rows;
+    }
 }
@@ -13,8 +13,30 @@ package com.project.marginal.tax.calculator.utility;
 
 import java.text.DecimalFormat;
 
+/**
+ * Currency and percent formatting for the response DTOs.
+ * <p>
+ * The output is the same as {@code new DecimalFormat("$#,###,###,###,##0.00")} and
+ * {@code new DecimalFormat("#.##%")} in the default {@code en-US} symbols, but the digits are written straight
+ * into a {@code char[]} instead of building a formatter per call. Rounding is half even on the exact binary value
+ * of the double, which is what {@code DecimalFormat} does for every magnitude below {@link #FAST_PATH_LIMIT};
+ * larger values, infinities and NaN fall back to {@code DecimalFormat}.
+ * </p>
+ * <p>
+ * The {@code write*} methods fill the end of a caller-supplied buffer of at least {@link #MAX_LENGTH} chars and
+ * return the offset of the first char, so callers streaming JSON can pass the buffer to the generator directly.
+ * </p>
+ */
 public class NumberFormatUtils {
 
+    /** Capacity a buffer passed to the {@code write*} methods must have. */
+    public static final int MAX_LENGTH = 32;
+
+    /** Largest magnitude formatted without {@code DecimalFormat}; below it a double's ulp is under 0.001. */
+    static final double FAST_PATH_LIMIT = 0x1p42;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
+
     /**
      * Formats a given number as currency with two decimal places.
      *
@@ -22,9 +44,21 @@ public class NumberFormatUtils {
      * @return the formatted currency string
      */
     public static String dollarFormat(double inputNumber){
-        // Format the number as currency with two decimal places
-        DecimalFormat formatter = new DecimalFormat("$#,###,###,###,##0.00");
-        return formatter.format(inputNumber);
+        char[] buf = BUFFER.get();
+        int start = writeDollars(inputNumber, buf);
+        return start >= 0 ? new String(buf, start, MAX_LENGTH - start) : legacyDollarFormat(inputNumber);
+    }
+
+    /**
+     * Formats an amount in cents as currency; the result equals {@code dollarFormat(cents / 100.0)}.
+     *
+     * @param cents the amount in whole cents
+     * @return the formatted currency string
+     */
+    public static String centsFormat(long cents) {
+        char[] buf = BUFFER.get();
+        int start = writeCents(cents, buf);
+        return new String(buf, start, MAX_LENGTH - start);
     }
 
     /**
@@ -34,8 +68,139 @@ public class NumberFormatUtils {
      * @return the formatted percentage string
      */
     public static String percentFormat(double inputNumber){
-        // Format the number as a percentage with two decimal places
-        DecimalFormat formatter = new DecimalFormat("#.##%");
-        return formatter.format(inputNumber);
+        char[] buf = BUFFER.get();
+        int start = writePercent(inputNumber, buf);
+        return start >= 0 ? new String(buf, start, MAX_LENGTH - start) : legacyPercentFormat(inputNumber);
+    }
+
+    /**
+     * Writes {@link #dollarFormat(double)} of the given number into the end of {@code buf}.
+     *
+     * @return the offset of the first char, or -1 if the number needs the {@code DecimalFormat} fallback
+     */
+    public static int writeDollars(double inputNumber, char[] buf) {
+        long hundredths = roundHundredths(inputNumber);
+        if (hundredths < 0) {
+            return -1;
+        }
+        return writeMoney(hundredths, isNegative(inputNumber), buf);
+    }
+
+    /**
+     * Writes {@link #centsFormat(long)} of the given amount into the end of {@code buf}.
+     *
+     * @return the offset of the first char
+     */
+    public static int writeCents(long cents, char[] buf) {
+        int pos = buf.length;
+        // Work on the non-positive value so Long.MIN_VALUE needs no special case
+        long q = cents > 0 ? -cents : cents;
+        buf[--pos] = (char) ('0' - q % 10);
+        q /= 10;
+        buf[--pos] = (char) ('0' - q % 10);
+        q /= 10;
+        buf[--pos] = '.';
+        pos = writeGroupedNonPositive(q, buf, pos);
+        buf[--pos] = '$';
+        if (cents < 0) {
+            buf[--pos] = '-';
+        }
+        return pos;
+    }
+
+    /**
+     * Writes {@link #percentFormat(double)} of the given number into the end of {@code buf}.
+     *
+     * @return the offset of the first char, or -1 if the number needs the {@code DecimalFormat} fallback
+     */
+    public static int writePercent(double inputNumber, char[] buf) {
+        // DecimalFormat applies the percent multiplier in double arithmetic before rounding
+        double percent = inputNumber * 100;
+        long hundredths = roundHundredths(percent);
+        if (hundredths < 0) {
+            return -1;
+        }
+        int pos = buf.length;
+        buf[--pos] = '%';
+        int fraction = (int) (hundredths % 100);
+        if (fraction != 0) {
+            if (fraction % 10 != 0) {
+                buf[--pos] = (char) ('0' + fraction % 10);
+            }
+            buf[--pos] = (char) ('0' + fraction / 10);
+            buf[--pos] = '.';
+        }
+        long whole = hundredths / 100;
+        do {
+            buf[--pos] = (char) ('0' + whole % 10);
+            whole /= 10;
+        } while (whole != 0);
+        if (isNegative(percent)) {
+            buf[--pos] = '-';
+        }
+        return pos;
+    }
+
+    private static int writeMoney(long hundredths, boolean negative, char[] buf) {
+        int pos = buf.length;
+        buf[--pos] = (char) ('0' + hundredths % 10);
+        buf[--pos] = (char) ('0' + hundredths / 10 % 10);
+        buf[--pos] = '.';
+        pos = writeGroupedNonPositive(-(hundredths / 100), buf, pos);
+        buf[--pos] = '$';
+        if (negative) {
+            buf[--pos] = '-';
+        }
+        return pos;
+    }
+
+    /**
+     * Writes the magnitude of a non-positive integer with a comma every three digits, ending before {@code pos}.
+     */
+    private static int writeGroupedNonPositive(long q, char[] buf, int pos) {
+        int digits = 0;
+        do {
+            if (digits > 0 && digits % 3 == 0) {
+                buf[--pos] = ',';
+            }
+            buf[--pos] = (char) ('0' - q % 10);
+            q /= 10;
+            digits++;
+        } while (q != 0);
+        return pos;
+    }
+
+    /**
+     * Returns {@code |value|} rounded half even to hundredths, decided on the exact binary value, or -1 if the
+     * value is not finite or not below {@link #FAST_PATH_LIMIT}.
+     */
+    private static long roundHundredths(double value) {
+        double a = Math.abs(value);
+        if (!(a < FAST_PATH_LIMIT)) {
+            return -1;
+        }
+        // fma rounds once, so the sign of each result is the sign of the exact difference
+        double floor = Math.floor(a * 100);
+        if (Math.fma(a, 100, -floor) < 0) {
+            floor -= 1;
+        }
+        long n = (long) floor;
+        double aboveHalf = Math.fma(a, 100, -(floor + 0.5));
+        if (aboveHalf > 0 || (aboveHalf == 0 && (n & 1) != 0)) {
+            n++;
+        }
+        return n;
+    }
+
+    private static boolean isNegative(double value) {
+        return value < 0 || (value == 0 && 1 / value < 0);
+    }
+
+    static String legacyDollarFormat(double inputNumber) {
+        return new DecimalFormat("$#,###,###,###,##0.00").format(inputNumber);
+    }
+
+    static String legacyPercentFormat(double inputNumber) {
+        return new DecimalFormat("#.##%").format(inputNumber);
     }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025 Hamzat Olowu
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * GitHub: https//github.com/CHA0sTIG3R
+ */
+
+package com.project.marginal.tax.calculator.utility;
+
+import com.project.marginal.tax.calculator.dto.TaxBatch;
+import com.project.marginal.tax.calculator.dto.TaxBatchResult;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes the {@value #MEDIA_TYPE} binary batch format.
+ * <p>
+ * Both messages are an 8-byte header (magic, row count) followed by one block per column, big-endian,
+ * widest columns first:
+ * </p>
+ * <pre>
+ * request:  int32 'TXBQ' | int32 n | int64 incomeCents[n] | int16 year[n] | int8 status[n]
+ * response: int32 'TXBR' | int32 n | int64 totalCents[n] | int32 avgRateBp[n] | int32 marginalRateBp[n] | int8 rowStatus[n]
+ * </pre>
+ * <p>
+ * Status codes are those of {@link TaxBatch#STATUS_CODES}; row statuses those of {@link TaxBatchResult}.
+ * Columns are copied in bulk through typed buffer views, without per-row objects.
+ * </p>
+ */
+public final class TaxBatchCodec {
+
+    public static final String MEDIA_TYPE = "application/vnd.tax-batch";
+
+    static final int REQUEST_MAGIC = 0x54584251;  // "TXBQ"
+    static final int RESPONSE_MAGIC = 0x54584252; // "TXBR"
+    static final int HEADER_BYTES = 8;
+    static final int REQUEST_ROW_BYTES = Long.BYTES + Short.BYTES + Byte.BYTES;
+    static final int RESPONSE_ROW_BYTES = Long.BYTES + 2 * Integer.BYTES + Byte.BYTES;
+
+    private TaxBatchCodec() {
+    }
+
+    public static int requestBytes(int rows) {
+        return Math.addExact(HEADER_BYTES, Math.multiplyExact(rows, REQUEST_ROW_BYTES));
+    }
+
+    public static int responseBytes(int rows) {
+        return Math.addExact(HEADER_BYTES, Math.multiplyExact(rows, RESPONSE_ROW_BYTES));
+    }
+
+    public static ByteBuffer encodeRequest(TaxBatch batch) {
+        int n = batch.size();
+        ByteBuffer out = ByteBuffer.allocate(requestBytes(n));
+        out.putInt(REQUEST_MAGIC).putInt(n);
+        out.asLongBuffer().put(batch.getIncomeCents());
+        out.position(out.position() + n * Long.BYTES);
+        out.asShortBuffer().put(batch.getYears());
+        out.position(out.position() + n * Short.BYTES);
+        out.put(batch.getStatusCodes());
+        return out.flip();
+    }
+
+    /**
+     * Decodes a request.
+     *
+     * @throws IllegalArgumentException if the buffer is not a well-formed request
+     */
+    public static TaxBatch decodeRequest(ByteBuffer in) {
+        int n = readHeader(in, REQUEST_MAGIC, "request");
+        if (in.remaining() != (long) n * REQUEST_ROW_BYTES) {
+            throw new IllegalArgumentException("Batch request size does not match its row count: " + n);
+        }
+        long[] incomes = new long[n];
+        short[] years = new short[n];
+        byte[] statuses = new byte[n];
+        in.asLongBuffer().get(incomes);
+        in.position(in.position() + n * Long.BYTES);
+        in.asShortBuffer().get(years);
+        in.position(in.position() + n * Short.BYTES);
+        in.get(statuses);
+        return new TaxBatch(years, statuses, incomes);
+    }
+
+    public static ByteBuffer encodeResponse(TaxBatchResult result) {
+        int n = result.size();
+        ByteBuffer out = ByteBuffer.allocate(responseBytes(n));
+        out.putInt(RESPONSE_MAGIC).putInt(n);
+        out.asLongBuffer().put(result.getTotalCents());
+        out.position(out.position() + n * Long.BYTES);
+        out.asIntBuffer().put(result.getAvgRateBp());
+        out.position(out.position() + n * Integer.BYTES);
+        out.asIntBuffer().put(result.getMarginalRateBp());
+        out.position(out.position() + n * Integer.BYTES);
+        out.put(result.getRowStatus());
+        return out.flip();
+    }
+
+    /**
+     * Decodes a response.
+     *
+     * @throws IllegalArgumentException if the buffer is not a well-formed response
+     */
+    public static TaxBatchResult decodeResponse(ByteBuffer in) {
+        int n = readHeader(in, RESPONSE_MAGIC, "response");
+        if (in.remaining() != (long) n * RESPONSE_ROW_BYTES) {
+            throw new IllegalArgumentException("Batch response size does not match its row count: " + n);
+        }
+        long[] totals = new long[n];
+        int[] avgRates = new int[n];
+        int[] marginalRates = new int[n];
+        byte[] rowStatus = new byte[n];
+        in.asLongBuffer().get(totals);
+        in.position(in.position() + n * Long.BYTES);
+        in.asIntBuffer().get(avgRates);
+        in.position(in.position() + n * Integer.BYTES);
+        in.asIntBuffer().get(marginalRates);
+        in.position(in.position() + n * Integer.BYTES);
+        in.get(rowStatus);
+        return new TaxBatchResult(totals, avgRates, marginalRates, rowStatus);
+    }
+
+    private static int readHeader(ByteBuffer in, int magic, String kind) {
+        try {
+            if (in.getInt() != magic) {
+                throw new IllegalArgumentException("Not a " + MEDIA_TYPE + " " + kind);
+            }
+            int n = in.getInt();
+            if (n < 0) {
+                throw new IllegalArgumentException("Invalid batch row count: " + n);
+            }
+            return n;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated batch " + kind, e);
+        }
+    }
+}
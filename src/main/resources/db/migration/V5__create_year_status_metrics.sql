@@ -0,0 +1,20 @@
+-- Per (year, status) aggregates over historical_tax_rates, rebuilt by every import
+CREATE TABLE IF NOT EXISTS year_status_metrics (
+  year           INTEGER          NOT NULL,
+  status         VARCHAR(8)       NOT NULL,
+  bracket_count  INTEGER          NOT NULL,
+  min_rate       REAL             NOT NULL,
+  max_rate       REAL             NOT NULL,
+  avg_rate       DOUBLE PRECISION NOT NULL,
+  min_threshold  NUMERIC(19,2)    NOT NULL,
+  max_threshold  NUMERIC(19,2),
+  PRIMARY KEY (year, status)
+);
+
+-- Backfill from the rows already imported
+INSERT INTO year_status_metrics
+  (year, status, bracket_count, min_rate, max_rate, avg_rate, min_threshold, max_threshold)
+SELECT year, status, COUNT(*), MIN(rate), MAX(rate), AVG(rate), MIN(range_start), MAX(range_end)
+  FROM historical_tax_rates
+ GROUP BY year, status
+ON CONFLICT (year, status) DO NOTHING;
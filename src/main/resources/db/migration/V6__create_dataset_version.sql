@@ -0,0 +1,10 @@
+-- Single-row counter bumped by every successful import; HTTP validators (ETag, Last-Modified) derive from it
+CREATE TABLE IF NOT EXISTS dataset_version (
+  id          SMALLINT    PRIMARY KEY CHECK (id = 1),
+  version     BIGINT      NOT NULL,
+  updated_at  TIMESTAMPTZ NOT NULL
+);
+
+INSERT INTO dataset_version (id, version, updated_at)
+VALUES (1, 1, now())
+ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,103 @@
+package com.project.marginal.tax.calculator.cache;
+
+import com.project.marginal.tax.calculator.dto.BracketTax;
+import com.project.marginal.tax.calculator.dto.TaxResult;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BreakdownResultCacheTest {
+
+    private BracketIndexProvider indexProvider;
+    private BracketIndex index;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        indexProvider = mock(BracketIndexProvider.class);
+        index = BracketIndex.empty().withVersion(1, Instant.EPOCH);
+        when(indexProvider.current()).thenReturn(index);
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static TaxResult result(long incomeCents) {
+        return TaxResult.ofCents(List.of(new BracketTax(2021, FilingStatus.S, 0, incomeCents, 0.10, incomeCents / 10)),
+                incomeCents / 10, incomeCents);
+    }
+
+    @Test
+    public void get_computesOncePerScenario_andPublishesCacheMetrics() {
+        BreakdownResultCache cache = new BreakdownResultCache(indexProvider, 1 << 20, registry);
+        AtomicInteger calls = new AtomicInteger();
+
+        TaxResult first = cache.get(index, 2021, FilingStatus.S, 5_000_000, () -> { calls.incrementAndGet(); return result(5_000_000); });
+        TaxResult second = cache.get(index, 2021, FilingStatus.S, 5_000_000, () -> { calls.incrementAndGet(); return result(5_000_000); });
+        cache.get(index, 2021, FilingStatus.MFJ, 5_000_000, () -> { calls.incrementAndGet(); return result(5_000_000); });
+
+        assertSame(first, second);
+        assertEquals(2, calls.get());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "tax.breakdown").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("cache.gets").tag("cache", "tax.breakdown").tag("result", "miss").functionCounter().count());
+        assertNotNull(registry.get("cache.evictions").tag("cache", "tax.breakdown").functionCounter());
+    }
+
+    @Test
+    public void get_newSnapshotInvalidates_andStaleSnapshotsBypass() {
+        BreakdownResultCache cache = new BreakdownResultCache(indexProvider, 1 << 20, registry);
+        cache.get(index, 2021, FilingStatus.S, 100, () -> result(100));
+        assertEquals(1, cache.size());
+
+        BracketIndex imported = BracketIndex.empty().withVersion(2, Instant.EPOCH);
+        when(indexProvider.current()).thenReturn(imported);
+
+        // a request still holding the old snapshot computes without touching the cache
+        AtomicInteger calls = new AtomicInteger();
+        cache.get(index, 2021, FilingStatus.S, 100, () -> { calls.incrementAndGet(); return result(100); });
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.size());
+
+        cache.get(imported, 2021, FilingStatus.S, 100, () -> { calls.incrementAndGet(); return result(100); });
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_failuresAreNotCached_andWeightIsBounded() {
+        int perEntry = BreakdownResultCache.weigh(null, result(1));
+        BreakdownResultCache cache = new BreakdownResultCache(indexProvider, 10L * perEntry, registry);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(index, 2021, FilingStatus.S, 1, () -> {
+            throw new IllegalArgumentException("No tax rates found for the given year and status");
+        }));
+        assertEquals(0, cache.size());
+
+        for (int i = 1; i <= 100; i++) {
+            long income = i;
+            cache.get(index, 2021, FilingStatus.S, income, () -> result(income));
+        }
+        assertTrue(cache.size() <= 10, "size=" + cache.size());
+        assertTrue(registry.get("cache.evictions").tag("cache", "tax.breakdown").functionCounter().count() >= 90);
+    }
+
+    @Test
+    public void zeroBytes_disablesCaching() {
+        BreakdownResultCache cache = new BreakdownResultCache(indexProvider, 0, registry);
+        AtomicInteger calls = new AtomicInteger();
+        cache.get(index, 2021, FilingStatus.S, 100, () -> { calls.incrementAndGet(); return result(100); });
+        cache.get(index, 2021, FilingStatus.S, 100, () -> { calls.incrementAndGet(); return result(100); });
+
+        assertEquals(2, calls.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.marginal.tax.calculator.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SerializedResponseCacheTest {
+
+    private BracketIndexProvider indexProvider;
+    private SimpleMeterRegistry registry;
+    private SerializedResponseCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        indexProvider = mock(BracketIndexProvider.class);
+        when(indexProvider.current()).thenReturn(BracketIndex.empty());
+        registry = new SimpleMeterRegistry();
+        cache = new SerializedResponseCache(new ObjectMapper(), indexProvider, 2, registry);
+    }
+
+    @Test
+    public void get_serializesOncePerKeyAndSnapshot() {
+        AtomicInteger calls = new AtomicInteger();
+        SerializedResponse first = cache.get("years", () -> List.of(calls.incrementAndGet()));
+        SerializedResponse second = cache.get("years", () -> List.of(calls.incrementAndGet()));
+
+        assertSame(first, second);
+        assertEquals("[1]", new String(first.json(), StandardCharsets.UTF_8));
+        assertEquals(1, registry.get("tax.response.cache.requests").tag("result", "hit").counter().count());
+
+        when(indexProvider.current()).thenReturn(BracketIndex.of(List.of(), List.of()));
+        assertEquals("[2]", new String(cache.get("years", () -> List.of(calls.incrementAndGet())).json(),
+                StandardCharsets.UTF_8));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_failuresAreNotCached_andEntriesAreBounded() {
+        assertThrows(IllegalArgumentException.class, () -> cache.get("rate:1700", () -> {
+            throw new IllegalArgumentException("Invalid year: 1700");
+        }));
+        assertEquals(0, cache.size());
+
+        cache.get("a", () -> 1);
+        cache.get("b", () -> 2);
+        cache.get("c", () -> 3);
+        assertEquals(2, cache.size());
+        assertEquals("3", new String(cache.get("c", () -> 3).json(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void get_concurrentMissesForOneKeyBuildTheBodyOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<SerializedResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.get("rate:2020:S", () -> {
+                    calls.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return List.of(2020);
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (registry.get("tax.response.cache.coalesced").functionCounter().count() < 3
+                    && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            SerializedResponse first = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<SerializedResponse> result : results) {
+                assertSame(first, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, registry.get("tax.response.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(3, registry.get("tax.response.cache.coalesced").functionCounter().count());
+    }
+
+    @Test
+    public void toResponseEntity_negotiatesGzip() {
+        SerializedResponse small = SerializedResponse.of("[1]".getBytes(StandardCharsets.UTF_8));
+        assertNull(small.gzip());
+        assertNull(small.toResponseEntity("gzip").getHeaders().getFirst("Content-Encoding"));
+
+        SerializedResponse large = SerializedResponse.of("[1,2,3,4,5,6,7,8,9,10]".repeat(50).getBytes(StandardCharsets.UTF_8));
+        assertNotNull(large.gzip());
+        ResponseEntity<byte[]> gzipped = large.toResponseEntity("deflate, gzip");
+        assertEquals("gzip", gzipped.getHeaders().getFirst("Content-Encoding"));
+        assertSame(large.gzip(), gzipped.getBody());
+        assertSame(large.json(), large.toResponseEntity(null).getBody());
+
+        assertTrue(SerializedResponse.acceptsGzip("*"));
+        assertTrue(SerializedResponse.acceptsGzip("GZIP;q=0.5"));
+        assertFalse(SerializedResponse.acceptsGzip("gzip;q=0"));
+        // an explicit refusal wins over the wildcard, whichever comes first
+        assertFalse(SerializedResponse.acceptsGzip("gzip;q=0, *"));
+        assertFalse(SerializedResponse.acceptsGzip("*, gzip;q=0"));
+        assertTrue(SerializedResponse.acceptsGzip("*;q=0, gzip"));
+        assertFalse(SerializedResponse.acceptsGzip("br, *;q=0"));
+        assertFalse(SerializedResponse.acceptsGzip("br, deflate"));
+        assertFalse(SerializedResponse.acceptsGzip(""));
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.marginal.tax.calculator.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Starts {@link #CALLERS} calls for the same key whose computation blocks until {@code release} opens,
+     * and waits until all but the leader have joined it.
+     */
+    private List<Future<String>> burst(SingleFlight<String, String> flight, AtomicInteger runs, CountDownLatch release,
+                                       RuntimeException failure) throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> flight.run("rate:2020", () -> {
+                runs.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return "brackets";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (flight.sharedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        return results;
+    }
+
+    @Test
+    public void run_concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = burst(flight, runs, release, null);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("brackets", result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(CALLERS - 1, flight.sharedCount());
+        assertEquals(0, flight.inFlightCount());
+    }
+
+    @Test
+    public void run_failureReachesEveryWaiter_andIsNotRemembered() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalArgumentException failure = new IllegalArgumentException("Invalid year: 2020");
+
+        List<Future<String>> results = burst(flight, runs, release, failure);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, runs.get());
+
+        assertEquals("retried", flight.run("rate:2020", () -> "retried"));
+    }
+
+    @Test
+    public void run_differentKeysDoNotWaitForEachOther() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        String outer = flight.run("summary:2020:S", () -> flight.run("rate:2020:S", () -> "inner") + "+outer");
+
+        assertEquals("inner+outer", outer);
+        assertEquals(0, flight.sharedCount());
+    }
+}
@@ -0,0 +1,149 @@
+package com.project.marginal.tax.calculator.client;
+
+import com.project.marginal.tax.calculator.cache.BreakdownResultCache;
+import com.project.marginal.tax.calculator.dto.TaxBatch;
+import com.project.marginal.tax.calculator.dto.TaxBatchResult;
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.dto.TaxPaidResponse;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import com.project.marginal.tax.calculator.service.BulkSimulationExecutor;
+import com.project.marginal.tax.calculator.service.TaxService;
+import com.project.marginal.tax.calculator.utility.TaxBatchCodec;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Round-trips batches through the client, the codec and the service over a local HTTP server.
+ */
+public class TaxBatchClientTest {
+
+    private HttpServer server;
+    private BulkSimulationExecutor bulkExecutor;
+    private TaxService service;
+    private TaxBatchClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        String[][] brackets = {
+                {"0", "9950", "0.10"}, {"9950", "40525", "0.12"}, {"40525", "86375", "0.22"},
+                {"86375", "164925", "0.24"}, {"164925", "209425", "0.32"}, {"209425", "523600", "0.35"},
+                {"523600", null, "0.37"}
+        };
+        List<TaxRate> rows = new ArrayList<>();
+        for (FilingStatus status : FilingStatus.values()) {
+            for (String[] b : brackets) {
+                rows.add(new TaxRate(2021, status, Float.parseFloat(b[2]), new BigDecimal(b[0]),
+                        b[1] == null ? null : new BigDecimal(b[1])));
+            }
+        }
+        TaxRateRepository repo = Mockito.mock(TaxRateRepository.class);
+        when(repo.findAll()).thenReturn(rows);
+        bulkExecutor = new BulkSimulationExecutor(0, 4, new SimpleMeterRegistry());
+        BracketIndexProvider provider = new BracketIndexProvider(repo, Mockito.mock(NoIncomeTaxYearRepository.class),
+                Mockito.mock(YearStatusMetricsRepository.class), Mockito.mock(DatasetVersionRepository.class));
+        service = new TaxService(provider, bulkExecutor, new BreakdownResultCache(provider, 0, new SimpleMeterRegistry()));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/tax/simulate", exchange -> {
+            TaxBatch batch = TaxBatchCodec.decodeRequest(ByteBuffer.wrap(exchange.getRequestBody().readAllBytes()));
+            byte[] body = TaxBatchCodec.encodeResponse(service.simulateColumns(batch)).array();
+            exchange.getResponseHeaders().add("Content-Type", TaxBatchCodec.MEDIA_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        client = new TaxBatchClient(URI.create("http://127.0.0.1:" + server.getAddress().getPort()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+        bulkExecutor.shutdown();
+    }
+
+    private static TaxBatch randomBatch(int rows, long seed) {
+        Random random = new Random(seed);
+        short[] years = new short[rows];
+        byte[] statuses = new byte[rows];
+        long[] incomes = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            years[i] = 2021;
+            statuses[i] = (byte) random.nextInt(TaxBatch.STATUS_CODES.size());
+            incomes[i] = 1 + (long) (random.nextDouble() * 100_000_000_00L);
+        }
+        return new TaxBatch(years, statuses, incomes);
+    }
+
+    @Test
+    public void simulate_matchesJsonTotals() throws Exception {
+        TaxBatch batch = randomBatch(200, 3);
+        TaxBatchResult result = client.simulate(batch);
+
+        assertEquals(batch.size(), result.size());
+        for (int i = 0; i < batch.size(); i++) {
+            TaxPaidResponse expected = service.calculateTaxTotals(new TaxInput(2021, batch.status(i),
+                    BigDecimal.valueOf(batch.incomeCents(i), 2).toPlainString()));
+            assertEquals(TaxBatchResult.ROW_OK, result.getRowStatus()[i]);
+            assertEquals(expected.getTotalTaxPaid(),
+                    String.format("$%,.2f", BigDecimal.valueOf(result.getTotalCents()[i], 2)), "row " + i);
+        }
+    }
+
+    @Test
+    public void simulate_flagsInvalidRows() throws Exception {
+        TaxBatch batch = new TaxBatch(
+                new short[]{2021, 1800, 2021, 2021},
+                new byte[]{0, 0, 42, 0},
+                new long[]{10_000_00L, 10_000_00L, 10_000_00L, 0L});
+
+        TaxBatchResult result = client.simulate(batch);
+
+        assertArrayEquals(new byte[]{TaxBatchResult.ROW_OK, TaxBatchResult.ROW_INVALID,
+                TaxBatchResult.ROW_INVALID, TaxBatchResult.ROW_INVALID}, result.getRowStatus());
+        // $9,950 at 10% plus $50 at 12%
+        assertEquals(100_100L, result.getTotalCents()[0]);
+        assertEquals(1_001, result.getAvgRateBp()[0]);
+        assertEquals(1_200, result.getMarginalRateBp()[0]);
+    }
+
+    @Test
+    public void simulate_roundTripThroughput() throws Exception {
+        int rows = 500_000;
+        TaxBatch batch = randomBatch(rows, 11);
+        client.simulate(randomBatch(10_000, 12)); // warm up
+
+        long start = System.nanoTime();
+        TaxBatchResult result = client.simulate(batch);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(rows, result.size());
+        System.out.printf("Binary batch round trip: %,d rows in %.3f s (%,.0f rows/s, %,d request bytes)%n",
+                rows, seconds, rows / seconds, TaxBatchCodec.requestBytes(rows));
+        assertTrue(seconds < 30, "round trip took " + seconds + " s");
+    }
+}
@@ -1,12 +1,19 @@
 package com.project.marginal.tax.calculator.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.cache.SerializedResponseCache;
 import com.project.marginal.tax.calculator.dto.*;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
 import com.project.marginal.tax.calculator.exception.GlobalExceptionHandler;
 import com.project.marginal.tax.calculator.security.ApiKeyFilter;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import com.project.marginal.tax.calculator.service.SimulationStreamService;
 import com.project.marginal.tax.calculator.service.TaxDataImportService;
 import com.project.marginal.tax.calculator.service.TaxService;
+import com.project.marginal.tax.calculator.utility.TaxBatchCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,12 +22,21 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.collection.IsMapContaining.hasKey;
@@ -28,14 +44,19 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
 @WebMvcTest(controllers = TaxController.class)
-@Import({GlobalExceptionHandler.class, ApiKeyFilter.class})
+@Import({GlobalExceptionHandler.class, ApiKeyFilter.class, SerializedResponseCache.class, SimpleMeterRegistry.class})
 public class TaxControllerIntegrationTest {
 
     @Autowired
@@ -47,11 +68,26 @@ public class TaxControllerIntegrationTest {
     @MockitoBean
     private TaxDataImportService importService;
 
+    @MockitoBean
+    private SimulationStreamService streamService;
+
+    @MockitoBean
+    private BracketIndexProvider indexProvider;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
     @Value("${app.ingest.api-key}")
     private String apiKey;
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @BeforeEach
+    public void setUp() {
+        when(indexProvider.current()).thenReturn(BracketIndex.empty());
+        responseCache.clear();
+    }
+
      @Test
      public void getYears_returnsOk() throws Exception {
          when(service.listYears()).thenReturn(List.of(2020, 2021));
@@ -60,6 +96,18 @@ public class TaxControllerIntegrationTest {
                  .andExpect(jsonPath("$", hasSize(2)));
      }
 
+    @Test
+    public void getYearAvailability_returnsColumns() throws Exception {
+        when(service.getYearAvailability()).thenReturn(new YearAvailabilityResponse(
+                new int[]{1900, 2021}, new boolean[]{true, false},
+                Map.of(FilingStatus.S, new boolean[]{false, true})));
+        mockMvc.perform(get("/api/v1/tax/years/availability"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.years[1]", is(2021)))
+                .andExpect(jsonPath("$.noIncomeTax[0]", is(true)))
+                .andExpect(jsonPath("$.available.S[1]", is(true)));
+    }
+
     @Test
     public void getFilingStatus_returnsOk() throws Exception {
         when(service.getFilingStatus()).thenReturn(Map.of("S", "Single", "MFJ", "Married Filing Jointly"));
@@ -78,6 +126,94 @@ public class TaxControllerIntegrationTest {
                 .andExpect(content().json("[]"));
     }
 
+    @Test
+    public void referenceEndpoints_serveCachedBytesUntilTheIndexChanges() throws Exception {
+        when(indexProvider.current()).thenReturn(BracketIndex.empty());
+        when(service.getRates(2021, FilingStatus.S)).thenReturn(List.of(new TaxRateDto(2021, FilingStatus.S, 0f, 9950f, 0.10f)));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/tax/rate").param("year", "2021").param("status", "S"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$[0].rangeEnd", is("$9,950.00")));
+        }
+        verify(service, times(1)).getRates(2021, FilingStatus.S);
+
+        // other parameters are cached separately
+        mockMvc.perform(get("/api/v1/tax/rate").param("year", "2021"))
+                .andExpect(status().isOk());
+        verify(service, times(1)).getRates(2021, null);
+
+        // an import publishes a new snapshot, which drops every entry
+        when(indexProvider.current()).thenReturn(BracketIndex.of(List.of(), List.of()));
+        when(service.getRates(2021, FilingStatus.S)).thenReturn(List.of(new TaxRateDto(2021, FilingStatus.S, 0f, 11000f, 0.10f)));
+        mockMvc.perform(get("/api/v1/tax/rate").param("year", "2021").param("status", "S"))
+                .andExpect(jsonPath("$[0].rangeEnd", is("$11,000.00")));
+        verify(service, times(2)).getRates(2021, FilingStatus.S);
+    }
+
+    @Test
+    public void referenceEndpoints_serveGzipWhenAccepted() throws Exception {
+        when(service.listYears()).thenReturn(IntStream.rangeClosed(1862, 2021).boxed().toList());
+
+        byte[] gzipped = mockMvc.perform(get("/api/v1/tax/years").header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+        String plain = mockMvc.perform(get("/api/v1/tax/years").header("Accept-Encoding", "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$", hasSize(160)))
+                .andReturn().getResponse().getContentAsString();
+
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertEquals(plain, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(gzipped.length < plain.length());
+        verify(service, times(1)).listYears();
+    }
+
+    @Test
+    public void readEndpoints_carryDatasetValidators_andAnswerConditionalRequestsWithoutTheService() throws Exception {
+        Instant committed = Instant.parse("2025-04-01T12:00:00Z");
+        when(indexProvider.current()).thenReturn(BracketIndex.empty().withVersion(5, committed));
+        when(service.getHistory(FilingStatus.S, Metric.TOP_RATE, 2000, 2001)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/tax/history").param("status", "S").param("startYear", "2000").param("endYear", "2001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v5\""))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().dateValue("Last-Modified", committed.toEpochMilli()));
+
+        mockMvc.perform(get("/api/v1/tax/history").param("status", "S").param("startYear", "2000").param("endYear", "2001")
+                        .header("If-None-Match", "\"v5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v5\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/tax/years").header("If-Modified-Since", "Tue, 01 Apr 2025 12:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        verify(service, times(1)).getHistory(FilingStatus.S, Metric.TOP_RATE, 2000, 2001);
+        verify(service, never()).listYears();
+
+        // gzip and identity bodies are different representations, so they get different strong tags
+        mockMvc.perform(get("/api/v1/tax/years").header("Accept-Encoding", "gzip").header("If-None-Match", "\"v5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v5-gzip\""));
+
+        // an import bumps the version, so the old tag no longer matches
+        when(indexProvider.current()).thenReturn(BracketIndex.empty().withVersion(6, committed.plusSeconds(60)));
+        mockMvc.perform(get("/api/v1/tax/years").header("If-None-Match", "\"v5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v6\""));
+
+        // writes are not validated
+        mockMvc.perform(post("/api/v1/tax/breakdown").contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new TaxInput(2021, FilingStatus.S, "1000")))
+                        .header("If-None-Match", "\"v6\""))
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
     @Test
     void getRate_invalidYear_returns400() throws Exception {
         when(service.getRates(eq(1800), any()))
@@ -166,6 +302,38 @@ public class TaxControllerIntegrationTest {
                 .andExpect(jsonPath("$.avgRate", containsString("%")));
     }
 
+    @Test
+    public void breakdown_rawResult_isFormattedOnSerialization() throws Exception {
+        when(service.calculateTaxBreakdown(any(TaxInput.class))).thenReturn(TaxPaidResponse.of(TaxResult.ofCents(
+                List.of(new BracketTax(2021, FilingStatus.S, 0, 1_234_567, 0.10, 123_457)), 123_457, 1_234_567)));
+
+        mockMvc.perform(post("/api/v1/tax/breakdown")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new TaxInput(2021, FilingStatus.S, "12345.67"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTaxPaid", is("$1,234.57")))
+                .andExpect(jsonPath("$.brackets[0].rangeEnd", is("$12,345.67")))
+                .andExpect(jsonPath("$.brackets[0].taxRate", is("10%")))
+                .andExpect(jsonPath("$.source").doesNotExist())
+                .andExpect(jsonPath("$.brackets[0].source").doesNotExist());
+    }
+
+    @Test
+    public void getBreakdown_canonicalUrl_isFormattedAndImmutable() throws Exception {
+        when(service.calculateTaxBreakdown(any(TaxInput.class))).thenReturn(TaxPaidResponse.of(TaxResult.ofCents(
+                List.of(), 123_457, 1_234_567)));
+
+        mockMvc.perform(get("/api/v1/tax/breakdown?year=2021&status=S&income=12345.67&v=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(jsonPath("$.totalTaxPaid", is("$1,234.57")));
+
+        mockMvc.perform(get("/api/v1/tax/breakdown?year=2021&status=S&income=12345.670"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Location", "/api/v1/tax/breakdown?year=2021&status=S&income=12345.67&v=0"))
+                .andExpect(header().string("Cache-Control", not(containsString("immutable"))));
+    }
+
     @Test
     public void getSummary_valid_returnsSummary() throws Exception {
         var summary = new TaxSummaryResponse(2022, FilingStatus.S, 3,
@@ -310,6 +478,169 @@ public class TaxControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].totalTaxPaid", containsString("$")));
     }
 
+    @Test
+    public void simulate_withoutBrackets_usesTotalsPath() throws Exception {
+        when(service.simulateTotals(anyList()))
+                .thenReturn(List.of(new TaxPaidResponse(List.of(), 500f, 0.05f)));
+
+        mockMvc.perform(post("/api/v1/tax/simulate")
+                        .param("brackets", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(new TaxInput(2021, FilingStatus.S, "10000")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].brackets.length()", is(0)))
+                .andExpect(jsonPath("$[0].totalTaxPaid", is("$500.00")));
+    }
+
+    @Test
+    public void simulate_ndjson_streamsResultLines() throws Exception {
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(1);
+            out.write("{\"totalTaxPaid\":\"$1.00\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(streamService).simulate(any(InputStream.class), any(OutputStream.class), eq(false));
+
+        MvcResult started = mockMvc.perform(post("/api/v1/tax/simulate")
+                        .param("brackets", "false")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content("{\"year\":2021,\"status\":\"S\",\"income\":10}\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"totalTaxPaid\":\"$1.00\"}\n"));
+    }
+
+    @Test
+    public void simulate_binaryBatch_roundTrips() throws Exception {
+        TaxBatch batch = new TaxBatch(new short[]{2021}, new byte[]{0}, new long[]{1_000_000L});
+        when(service.simulateColumns(any(TaxBatch.class))).thenAnswer(inv -> {
+            TaxBatchResult result = new TaxBatchResult(1);
+            result.set(0, 100_000L, 1_000, 1_000);
+            return result;
+        });
+
+        byte[] body = mockMvc.perform(post("/api/v1/tax/simulate")
+                        .contentType(TaxBatchCodec.MEDIA_TYPE)
+                        .accept(TaxBatchCodec.MEDIA_TYPE)
+                        .content(TaxBatchCodec.encodeRequest(batch).array()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TaxBatchCodec.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TaxBatchResult result = TaxBatchCodec.decodeResponse(ByteBuffer.wrap(body));
+        assertEquals(100_000L, result.getTotalCents()[0]);
+    }
+
+    @Test
+    public void simulate_binaryBatch_malformed_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/tax/simulate")
+                        .contentType(TaxBatchCodec.MEDIA_TYPE)
+                        .accept(TaxBatchCodec.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void historyMatrix_returnsColumns() throws Exception {
+        Map<Metric, Double[]> columns = new EnumMap<>(Metric.class);
+        columns.put(Metric.TOP_RATE, new Double[]{null, 0.07});
+        columns.put(Metric.RATE_SPREAD, new Double[]{null, 0.06});
+        when(service.getHistoryMatrix(List.of(FilingStatus.S), List.of(Metric.TOP_RATE, Metric.RATE_SPREAD), 1900, 1913))
+                .thenReturn(new HistoryMatrixResponse(List.of(1900, 1913), List.of(FilingStatus.S),
+                        List.of(Metric.TOP_RATE, Metric.RATE_SPREAD), new boolean[]{true, false},
+                        Map.of(FilingStatus.S, columns)));
+
+        mockMvc.perform(get("/api/v1/tax/history/matrix")
+                        .param("status", "S")
+                        .param("metric", "TOP_RATE", "RATE_SPREAD")
+                        .param("startYear", "1900")
+                        .param("endYear", "1913"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.years[1]", is(1913)))
+                .andExpect(jsonPath("$.noIncomeTax[0]", is(true)))
+                .andExpect(jsonPath("$.values.S.TOP_RATE[0]").value(nullValue()))
+                .andExpect(jsonPath("$.values.S.RATE_SPREAD[1]", is(0.06)));
+    }
+
+    @Test
+    public void curve_isCacheable() throws Exception {
+        when(service.getCurve(2021, FilingStatus.S, null, new BigDecimal("1000"), 3))
+                .thenReturn(new TaxCurveResponse(2021, FilingStatus.S,
+                        List.of(new TaxCurveResponse.Point(BigDecimal.ZERO, BigDecimal.ZERO, 0, 0.1)),
+                        new TaxCurveResponse.Grid(
+                                new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("1000"), new BigDecimal("2000")},
+                                new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("100"), new BigDecimal("200")},
+                                new double[]{0, 0.1, 0.1}, new double[]{0.1, 0.1, 0.1}),
+                        null));
+
+        mockMvc.perform(get("/api/v1/tax/curve")
+                        .param("year", "2021")
+                        .param("status", "S")
+                        .param("step", "1000")
+                        .param("count", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.breakpoints.length()", is(1)))
+                .andExpect(jsonPath("$.grid.totalTax.length()", is(3)))
+                .andExpect(jsonPath("$.grid.effectiveRate[1]", is(0.1)));
+    }
+
+    @Test
+    public void compareYears_returnsRows() throws Exception {
+        when(service.compareYears(List.of(new BigDecimal("50000"), new BigDecimal("100000")),
+                List.of(FilingStatus.S), 1913, null, YearComparisonSort.BURDEN))
+                .thenReturn(List.of(
+                        new YearTaxResult(1944, FilingStatus.S, new BigDecimal("100000"), new BigDecimal("70000.00"), 0.7, 0.91, null),
+                        new YearTaxResult(1913, FilingStatus.S, new BigDecimal("50000"), new BigDecimal("500.00"), 0.01, 0.01, null)));
+
+        mockMvc.perform(get("/api/v1/tax/compare-years")
+                        .param("income", "50000", "100000")
+                        .param("status", "S")
+                        .param("startYear", "1913")
+                        .param("sort", "BURDEN"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].year", is(1944)))
+                .andExpect(jsonPath("$[0].effectiveRate", is(0.7)))
+                .andExpect(jsonPath("$[1].totalTax", is(500.00)));
+    }
+
+    @Test
+    public void solve_single_returnsOk() throws Exception {
+        SolveRequest request = new SolveRequest(2021, FilingStatus.S, SolveTarget.NET_INCOME, new BigDecimal("50000"));
+        when(service.solve(request))
+                .thenReturn(SolveResponse.solved(request, 6_000_000L, 1_000_000L));
+
+        mockMvc.perform(get("/api/v1/tax/solve")
+                        .param("year", "2021")
+                        .param("status", "S")
+                        .param("target", "NET_INCOME")
+                        .param("value", "50000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.grossIncome", is(60000.00)))
+                .andExpect(jsonPath("$.netIncome", is("$50,000.00")));
+    }
+
+    @Test
+    public void solve_batch_returnsOk() throws Exception {
+        SolveRequest request = new SolveRequest(2021, FilingStatus.S, SolveTarget.TAX, new BigDecimal("1000"));
+        when(service.solveAll(anyList()))
+                .thenReturn(List.of(SolveResponse.solved(request, 1_000_000L, 100_000L)));
+
+        mockMvc.perform(post("/api/v1/tax/solve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].totalTax", is("$1,000.00")));
+    }
+
     @Test
     void simulateBulk_performance() {
         List<TaxInput> inputs = IntStream.range(0,500)
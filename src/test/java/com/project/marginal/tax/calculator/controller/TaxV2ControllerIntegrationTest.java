@@ -0,0 +1,194 @@
+package com.project.marginal.tax.calculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.dto.*;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.exception.GlobalExceptionHandler;
+import com.project.marginal.tax.calculator.security.ApiKeyFilter;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import com.project.marginal.tax.calculator.service.TaxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TaxV2Controller.class)
+@Import({GlobalExceptionHandler.class, ApiKeyFilter.class})
+public class TaxV2ControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TaxService service;
+
+    @MockitoBean
+    private BracketIndexProvider indexProvider;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setUp() {
+        when(indexProvider.current()).thenReturn(BracketIndex.empty());
+    }
+
+    @Test
+    public void getRate_returnsRawBounds() throws Exception {
+        when(service.getRateBrackets(2021, FilingStatus.S)).thenReturn(List.of(
+                new RateBracket(2021, FilingStatus.S, 0, 995_000L, 0.10, null),
+                new RateBracket(2021, FilingStatus.S, 995_000, null, 0.12, null)
+        ));
+
+        mockMvc.perform(get("/api/v2/tax/rate").param("year", "2021").param("status", "S"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].rangeEndCents", is(995_000)))
+                .andExpect(jsonPath("$[1].rangeEndCents", nullValue()))
+                .andExpect(jsonPath("$[1].rate", is(0.12)));
+    }
+
+    @Test
+    public void breakdown_returnsCentsAndFractions() throws Exception {
+        when(service.computeBreakdown(any(TaxInput.class))).thenReturn(TaxResult.ofCents(List.of(
+                new BracketTax(2021, FilingStatus.S, 0, 1_000_000, 0.10, 100_000),
+                new BracketTax(2021, FilingStatus.S, 1_000_000, 2_500_000, 0.20, 300_000)
+        ), 400_000, 2_500_000));
+
+        mockMvc.perform(post("/api/v2/tax/breakdown")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new TaxInput(2021, FilingStatus.S, "25000"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTaxCents", is(400_000)))
+                .andExpect(jsonPath("$.incomeCents", is(2_500_000)))
+                .andExpect(jsonPath("$.avgRate", is(0.16)))
+                .andExpect(jsonPath("$.brackets[1].taxPaidCents", is(300_000)))
+                .andExpect(jsonPath("$.brackets[1].rate", is(0.2)));
+    }
+
+    @Test
+    public void breakdown_totalsOnly_skipsBrackets() throws Exception {
+        when(service.computeTotals(any(TaxInput.class)))
+                .thenReturn(TaxResult.ofCents(List.of(), 400_000, 2_500_000));
+
+        mockMvc.perform(post("/api/v2/tax/breakdown")
+                        .param("brackets", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(new TaxInput(2021, FilingStatus.S, "25000"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.brackets", hasSize(0)));
+        verify(service, never()).computeBreakdown(any());
+    }
+
+    @Test
+    public void getBreakdown_nonCanonicalUrl_isServedDirectlyAndRevalidated() throws Exception {
+        when(service.datasetVersion()).thenReturn(7L);
+        when(service.computeBreakdown(any(TaxInput.class))).thenReturn(TaxResult.ofCents(List.of(), 450_005, 5_000_050));
+
+        mockMvc.perform(get("/api/v2/tax/breakdown")
+                        .param("income", "$50,000.50")
+                        .param("status", "S")
+                        .param("year", "2021"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Location",
+                        "/api/v2/tax/breakdown?year=2021&status=S&income=50000.5&v=7"))
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(jsonPath("$.totalTaxCents", is(450_005)));
+
+        verify(service).validateTaxInput(any(TaxInput.class));
+    }
+
+    @Test
+    public void getBreakdown_canonicalUrl_isImmutable() throws Exception {
+        when(service.datasetVersion()).thenReturn(7L);
+        when(service.computeBreakdown(any(TaxInput.class))).thenReturn(TaxResult.ofCents(List.of(), 450_000, 5_000_000));
+
+        mockMvc.perform(get("/api/v2/tax/breakdown?year=2021&status=S&income=50000&v=7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(jsonPath("$.totalTaxCents", is(450_000)));
+    }
+
+    @Test
+    public void getBreakdown_datasetChangedDuringRequest_isNotImmutable() throws Exception {
+        when(service.datasetVersion()).thenReturn(7L, 8L);
+        when(service.computeBreakdown(any(TaxInput.class))).thenReturn(TaxResult.ofCents(List.of(), 450_000, 5_000_000));
+
+        mockMvc.perform(get("/api/v2/tax/breakdown?year=2021&status=S&income=50000&v=7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", not(containsString("immutable"))));
+    }
+
+    @Test
+    public void getBreakdown_newerVersionThanThisNode_is503NoStoreNotARedirect() throws Exception {
+        when(service.datasetVersion()).thenReturn(7L);
+
+        mockMvc.perform(get("/api/v2/tax/breakdown?year=2021&status=S&income=50000&v=8"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(header().doesNotExist("Location"));
+
+        verify(service, never()).computeBreakdown(any());
+    }
+
+    @Test
+    public void getBreakdown_olderVersion_isServedWithTheCurrentCanonicalUrl() throws Exception {
+        when(service.datasetVersion()).thenReturn(7L);
+        when(service.computeBreakdown(any(TaxInput.class))).thenReturn(TaxResult.ofCents(List.of(), 450_000, 5_000_000));
+
+        mockMvc.perform(get("/api/v2/tax/breakdown?year=2021&status=S&income=50000&v=6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Location", endsWith("&v=7")))
+                .andExpect(header().string("Cache-Control", "no-cache, public"));
+    }
+
+    @Test
+    public void getBreakdown_invalidIncome_returns400() throws Exception {
+        mockMvc.perform(get("/api/v2/tax/breakdown?year=2021&status=S&income=abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void simulate_returnsRawResultsInOrder() throws Exception {
+        when(service.computeBulkTotals(anyList())).thenReturn(List.of(
+                TaxResult.ofCents(List.of(), 50_000, 500_000),
+                TaxResult.noIncomeTax(500_000, "No income tax for year 1900")
+        ));
+
+        mockMvc.perform(post("/api/v2/tax/simulate")
+                        .param("brackets", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(
+                                new TaxInput(2021, FilingStatus.S, "5000"),
+                                new TaxInput(1900, FilingStatus.S, "5000")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].totalTaxCents", is(50_000)))
+                .andExpect(jsonPath("$[0].avgRate", is(0.1)))
+                .andExpect(jsonPath("$[1].message", containsString("1900")));
+    }
+
+    @Test
+    public void invalidInput_returns400() throws Exception {
+        when(service.getRateBrackets(1700, null)).thenThrow(new IllegalArgumentException("Invalid year: 1700"));
+
+        mockMvc.perform(get("/api/v2/tax/rate").param("year", "1700"))
+                .andExpect(status().isBadRequest());
+    }
+}
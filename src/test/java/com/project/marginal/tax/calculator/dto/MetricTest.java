@@ -13,7 +13,12 @@ public class MetricTest {
             Metric.TOP_RATE,
             Metric.AVERAGE_RATE,
             Metric.MIN_RATE,
-            Metric.BRACKET_COUNT
+            Metric.BRACKET_COUNT,
+            Metric.TOP_BRACKET_START,
+            Metric.MIN_BRACKET_WIDTH,
+            Metric.MAX_BRACKET_WIDTH,
+            Metric.AVERAGE_BRACKET_WIDTH,
+            Metric.RATE_SPREAD
         }, values);
     }
 
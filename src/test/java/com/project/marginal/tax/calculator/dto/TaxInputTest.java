@@ -1,5 +1,6 @@
 package com.project.marginal.tax.calculator.dto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +20,20 @@ public class TaxInputTest {
     assertEquals(5000f, in.getIncome());
   }
 
+  @Test
+  public void incomeCents_keepsPrecisionAboveFloatRange() {
+    TaxInput in = new TaxInput(2021, FilingStatus.S, "$16,777,217.01");
+    assertEquals(1_677_721_701L, in.getIncomeCents());
+  }
+
+  @Test
+  public void json_incomeIsReadAsExactDecimal() throws Exception {
+    TaxInput in = new ObjectMapper().readValue(
+            "{\"year\":2021,\"status\":\"S\",\"income\":25000000.03}", TaxInput.class);
+    assertEquals(2_500_000_003L, in.getIncomeCents());
+    assertEquals(FilingStatus.S, in.getStatus());
+  }
+
   @Test
   public void parseIncome_invalidFormat_throws() {
     IllegalArgumentException ex = assertThrows(
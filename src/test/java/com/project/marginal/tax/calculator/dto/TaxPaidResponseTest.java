@@ -33,4 +33,35 @@ public class TaxPaidResponseTest {
         TaxPaidResponse resp = new TaxPaidResponse(infos, 0f, 0f);
         assertSame(infos, resp.getBrackets());
     }
+
+    @Test
+    public void of_formatsRawResultOnAccess() {
+        TaxResult result = TaxResult.ofCents(List.of(
+                new BracketTax(2021, FilingStatus.S, 0, 1_000_000, 0.10, 100_000),
+                new BracketTax(2021, FilingStatus.S, 1_000_000, 2_500_003, 0.12, 180_000)
+        ), 280_000, 2_500_003);
+
+        TaxPaidResponse resp = TaxPaidResponse.of(result);
+
+        assertEquals("$2,800.00", resp.getTotalTaxPaid());
+        assertSame(resp.getTotalTaxPaid(), resp.getTotalTaxPaid());
+        assertEquals(NumberFormatUtils.percentFormat(280_000.0 / 2_500_003), resp.getAvgRate());
+        assertEquals(2, resp.getBrackets().size());
+        TaxPaidInfo top = resp.getBrackets().get(1);
+        assertEquals("$10,000.00", top.getRangeStart());
+        assertEquals("$25,000.03", top.getRangeEnd());
+        assertEquals("12%", top.getTaxRate());
+        assertEquals("$1,800.00", top.getTaxPaid());
+        assertNull(resp.getMessage());
+    }
+
+    @Test
+    public void of_noIncomeTax_matchesLegacyView() {
+        TaxPaidResponse raw = TaxPaidResponse.of(TaxResult.noIncomeTax(100, "No income tax"));
+        TaxPaidResponse legacy = TaxPaidResponse.noIncomeTax("No income tax");
+        assertEquals(legacy.getTotalTaxPaid(), raw.getTotalTaxPaid());
+        assertEquals(legacy.getAvgRate(), raw.getAvgRate());
+        assertEquals(legacy.getMessage(), raw.getMessage());
+        assertTrue(raw.getBrackets().isEmpty());
+    }
 }
@@ -0,0 +1,107 @@
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.cache.BreakdownResultCache;
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.dto.TaxPaidResponse;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import com.project.marginal.tax.calculator.service.BulkSimulationExecutor;
+import com.project.marginal.tax.calculator.service.TaxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the per-input {@code /simulate} path with the batch evaluator for one year and status.
+ * <p>
+ * Not run by the build; start it from the IDE or with
+ * {@code java --add-modules jdk.incubator.vector -cp <test classpath> ...BatchEvaluatorBenchmark}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchEvaluatorBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private TaxService service;
+    private TaxSchedule schedule;
+    private List<TaxInput> inputs;
+    private long[] incomes;
+
+    @Setup
+    public void setUp() {
+        String[][] brackets = {
+                {"0", "9950", "0.10"}, {"9950", "40525", "0.12"}, {"40525", "86375", "0.22"},
+                {"86375", "164925", "0.24"}, {"164925", "209425", "0.32"}, {"209425", "523600", "0.35"},
+                {"523600", null, "0.37"}
+        };
+        List<TaxRate> rows = new ArrayList<>();
+        for (String[] b : brackets) {
+            rows.add(new TaxRate(2021, FilingStatus.S, Float.parseFloat(b[2]), new BigDecimal(b[0]),
+                    b[1] == null ? null : new BigDecimal(b[1])));
+        }
+
+        TaxRateRepository repo = Mockito.mock(TaxRateRepository.class);
+        when(repo.findAll()).thenReturn(rows);
+        BracketIndexProvider provider = new BracketIndexProvider(repo, Mockito.mock(NoIncomeTaxYearRepository.class),
+                Mockito.mock(YearStatusMetricsRepository.class), Mockito.mock(DatasetVersionRepository.class));
+        // Measure evaluation, not the breakdown cache
+        service = new TaxService(provider, new BulkSimulationExecutor(0, 16, new SimpleMeterRegistry()),
+                new BreakdownResultCache(provider, 0, new SimpleMeterRegistry()));
+        schedule = provider.current().schedule(2021, FilingStatus.S).orElseThrow();
+
+        Random random = new Random(1);
+        inputs = new ArrayList<>(size);
+        incomes = new long[size];
+        for (int i = 0; i < size; i++) {
+            incomes[i] = 1 + (long) (random.nextDouble() * 100_000_000L);
+            inputs.add(new TaxInput(2021, FilingStatus.S, BigDecimal.valueOf(incomes[i], 2).toPlainString()));
+        }
+    }
+
+    @Benchmark
+    public List<TaxPaidResponse> simulateBulkPerInput() {
+        return service.simulateBulk(inputs);
+    }
+
+    @Benchmark
+    public List<TaxPaidResponse> simulateTotalsBatched() {
+        return service.simulateTotals(inputs);
+    }
+
+    @Benchmark
+    public long[] scalarTotals() {
+        return BatchEvaluator.totalTaxCentsScalar(schedule, incomes);
+    }
+
+    @Benchmark
+    public long[] vectorTotals() {
+        return VectorBatchKernel.totalTaxCents(schedule, incomes);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BatchEvaluatorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
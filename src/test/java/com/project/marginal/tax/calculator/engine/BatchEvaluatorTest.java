@@ -0,0 +1,85 @@
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BatchEvaluatorTest {
+
+    private static TaxSchedule randomSchedule(Random random) {
+        int n = 1 + random.nextInt(32);
+        List<Bracket> brackets = new ArrayList<>();
+        long start = random.nextInt(3) == 0 ? random.nextInt(1_000_000) : 0;
+        for (int i = 0; i < n; i++) {
+            long width = 1 + (long) (random.nextDouble() * 50_000_000L);
+            // occasionally overlap the next bracket or leave its upper bound open
+            long end = random.nextInt(10) == 0 ? start + 2 * width : start + width;
+            String endText = i == n - 1 || random.nextInt(20) == 0 ? null : BigDecimal.valueOf(end, 2).toPlainString();
+            brackets.add(new Bracket(BigDecimal.valueOf(start, 2), endText == null ? null : new BigDecimal(endText),
+                    random.nextInt(9_500) / 10_000f));
+            start += width;
+        }
+        return new TaxSchedule(1918, FilingStatus.S, brackets);
+    }
+
+    private static long[] randomIncomes(Random random, int count) {
+        long[] incomes = new long[count];
+        for (int i = 0; i < count; i++) {
+            incomes[i] = switch (i % 4) {
+                case 0 -> (long) (random.nextDouble() * 2_000_000_000L);
+                case 1 -> (long) (random.nextDouble() * FixedPoint.MAX_INCOME_CENTS);
+                case 2 -> random.nextInt(100);
+                default -> FixedPoint.MAX_INCOME_CENTS - random.nextInt(100);
+            };
+        }
+        return incomes;
+    }
+
+    @Test
+    public void vectorKernel_isBitIdenticalToScalarEngine() {
+        assumeTrue(BatchEvaluator.isVectorized(), "jdk.incubator.vector is not enabled");
+        Random random = new Random(42);
+        for (int s = 0; s < 300; s++) {
+            TaxSchedule schedule = randomSchedule(random);
+            // odd lengths exercise the scalar tail after the last full vector
+            long[] incomes = randomIncomes(random, 1 + random.nextInt(257));
+            assertArrayEquals(BatchEvaluator.totalTaxCentsScalar(schedule, incomes),
+                    VectorBatchKernel.totalTaxCents(schedule, incomes), "schedule " + s);
+        }
+    }
+
+    @Test
+    public void totalTaxCents_matchesPerIncomeTotals() {
+        Random random = new Random(7);
+        TaxSchedule schedule = randomSchedule(random);
+        long[] incomes = randomIncomes(random, 1_000);
+        long[] totals = BatchEvaluator.totalTaxCents(schedule, incomes);
+        for (int i = 0; i < incomes.length; i++) {
+            assertEquals(schedule.totalTaxCents(incomes[i]), totals[i], "income=" + incomes[i]);
+        }
+    }
+
+    @Test
+    public void totalTaxCents_emptyInputsAndSchedules() {
+        TaxSchedule empty = new TaxSchedule(2021, FilingStatus.S, List.of());
+        assertArrayEquals(new long[]{0, 0}, BatchEvaluator.totalTaxCents(empty, new long[]{100, 200}));
+        assertEquals(0, BatchEvaluator.totalTaxCents(empty, new long[0]).length);
+    }
+
+    @Test
+    public void totalTaxCents_rejectsOutOfRangeIncome() {
+        TaxSchedule schedule = new TaxSchedule(2021, FilingStatus.S, List.of(
+                new Bracket(BigDecimal.ZERO, null, 0.1f)));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchEvaluator.totalTaxCents(schedule, new long[]{FixedPoint.MAX_INCOME_CENTS + 1}));
+        assertThrows(IllegalArgumentException.class,
+                () -> BatchEvaluator.totalTaxCents(schedule, new long[]{-1}));
+    }
+}
@@ -0,0 +1,222 @@
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class BracketIndexTest {
+
+    private static TaxRate rate(int year, FilingStatus status, float rate, String start, String end) {
+        return new TaxRate(year, status, rate, new BigDecimal(start), end == null ? null : new BigDecimal(end));
+    }
+
+    @Test
+    public void of_sortsBracketsByRangeStart() {
+        BracketIndex index = BracketIndex.of(List.of(
+                rate(2021, FilingStatus.S, 0.22f, "40000", null),
+                rate(2021, FilingStatus.S, 0.10f, "0", "10000"),
+                rate(2021, FilingStatus.S, 0.12f, "10000", "40000")
+        ), List.of());
+
+        TaxSchedule schedule = index.schedule(2021, FilingStatus.S).orElseThrow();
+        assertEquals(3, schedule.size());
+        assertEquals(0.10f, schedule.getBrackets().get(0).rate());
+        assertEquals(0.12f, schedule.getBrackets().get(1).rate());
+        assertEquals(0.22f, schedule.getBrackets().get(2).rate());
+    }
+
+    @Test
+    public void of_copiesInputs() {
+        List<TaxRate> rows = new ArrayList<>(List.of(rate(2021, FilingStatus.S, 0.10f, "0", null)));
+        BracketIndex index = BracketIndex.of(rows, List.of());
+        rows.get(0).setRate(0.5f);
+        rows.clear();
+
+        assertEquals(0.10f, index.schedule(2021, FilingStatus.S).orElseThrow().getBrackets().get(0).rate());
+        assertThrows(UnsupportedOperationException.class,
+                () -> index.schedule(2021, FilingStatus.S).orElseThrow().getBrackets().clear());
+    }
+
+    @Test
+    public void reachedCount_countsReachedBrackets() {
+        BracketIndex index = BracketIndex.of(List.of(
+                rate(2021, FilingStatus.MFJ, 0.10f, "0", "20000"),
+                rate(2021, FilingStatus.MFJ, 0.12f, "20000", "80000"),
+                rate(2021, FilingStatus.MFJ, 0.22f, "80000", null)
+        ), List.of());
+
+        TaxSchedule schedule = index.schedule(2021, FilingStatus.MFJ).orElseThrow();
+        assertEquals(1, schedule.reachedCount(2_000_000));
+        assertEquals(2, schedule.reachedCount(2_000_050));
+        assertEquals(3, schedule.reachedCount(100_000_000));
+    }
+
+    @Test
+    public void years_unionOfBracketAndNoTaxYearsSorted() {
+        BracketIndex index = BracketIndex.of(List.of(
+                rate(2021, FilingStatus.S, 0.10f, "0", null),
+                rate(1913, FilingStatus.MFJ, 0.01f, "0", null)
+        ), List.of(new NoIncomeTaxYear(1900), new NoIncomeTaxYear(1862)));
+
+        assertEquals(List.of(1862, 1900, 1913, 2021), index.years());
+        assertEquals(List.of(2021), index.years(FilingStatus.S));
+        assertTrue(index.isNoTaxYear(1900));
+        assertFalse(index.isNoTaxYear(1913));
+        assertTrue(index.noTaxMessage(1900).orElseThrow().contains("No income tax"));
+        assertEquals(2, index.bracketCount());
+    }
+
+    @Test
+    public void metrics_computedFromBracketsWithoutStoredRows() {
+        BracketIndex index = BracketIndex.of(List.of(
+                rate(2021, FilingStatus.S, 0.30f, "40000", null),
+                rate(2021, FilingStatus.S, 0.10f, "100", "10000"),
+                rate(2021, FilingStatus.S, 0.20f, "10000", "40000")
+        ), List.of());
+
+        ScheduleMetrics metrics = index.metrics(2021, FilingStatus.S).orElseThrow();
+        assertEquals(3, metrics.bracketCount());
+        assertEquals(0.10f, metrics.minRate());
+        assertEquals(0.30f, metrics.maxRate());
+        assertEquals(((double) 0.10f + 0.20f + 0.30f) / 3, metrics.averageRate(), 1e-12);
+        assertEquals(new BigDecimal("100"), metrics.minThreshold());
+        assertEquals(new BigDecimal("40000"), metrics.maxThreshold());
+        assertEquals(0, index.storedMetricsCount());
+        assertTrue(index.metrics(2021, FilingStatus.MFJ).isEmpty());
+    }
+
+    @Test
+    public void metrics_storedRowsAreServedAndMissingRowsComputed() {
+        List<TaxRate> rates = List.of(
+                rate(2021, FilingStatus.S, 0.10f, "0", "10000"),
+                rate(2021, FilingStatus.S, 0.25f, "10000", null),
+                rate(2021, FilingStatus.MFJ, 0.10f, "0", null));
+        // the table is the source of the aggregates it holds, even where they differ from the loaded brackets
+        YearStatusMetrics stored = new YearStatusMetrics(2021, FilingStatus.S, 2, 0.10f, 0.20f, 0.15,
+                BigDecimal.ZERO, new BigDecimal("8000"));
+
+        BracketIndex index = BracketIndex.of(rates, List.of(), List.of(stored));
+
+        ScheduleMetrics single = index.metrics(2021, FilingStatus.S).orElseThrow();
+        assertEquals(0.20f, single.maxRate());
+        assertEquals(0.15, single.averageRate());
+        assertEquals(new BigDecimal("8000"), single.maxThreshold());
+        // the table holds no bracket geometry, so that is still computed
+        assertEquals(new BigDecimal("10000"), single.topBracketStart());
+        assertEquals(new BigDecimal("10000"), single.maxBracketWidth());
+
+        ScheduleMetrics joint = index.metrics(2021, FilingStatus.MFJ).orElseThrow();
+        assertEquals(1, joint.bracketCount());
+        assertEquals(0.10f, joint.maxRate());
+        assertEquals(1, index.storedMetricsCount());
+    }
+
+    @Test
+    public void catalog_masksStatusesAndNoTaxYears() {
+        BracketIndex index = BracketIndex.of(List.of(
+                rate(1913, FilingStatus.S, 0.01f, "0", null),
+                rate(2021, FilingStatus.S, 0.10f, "0", null),
+                rate(2021, FilingStatus.MFS, 0.10f, "0", null)
+        ), List.of(new NoIncomeTaxYear(1900)));
+
+        YearCatalog catalog = index.catalog();
+        assertEquals(3, catalog.size());
+        assertEquals(1900, catalog.yearAt(0));
+        assertTrue(catalog.isNoTaxYearAt(0));
+        assertTrue(catalog.isNoTaxYear(1900));
+        assertFalse(catalog.isNoTaxYear(1901));
+        assertFalse(catalog.isNoTaxYear(-1));
+        assertTrue(catalog.hasBrackets(2021, FilingStatus.MFS));
+        assertFalse(catalog.hasBrackets(2021, FilingStatus.MFJ));
+        assertFalse(catalog.hasBrackets(1900, FilingStatus.S));
+        assertFalse(catalog.hasBrackets(1950, FilingStatus.S));
+        assertEquals(List.of(1913, 2021), index.years(FilingStatus.S));
+        assertEquals(List.of(2021), index.years(FilingStatus.MFS));
+        assertTrue(index.years(FilingStatus.HOH).isEmpty());
+        // the lists are built once per snapshot
+        assertSame(index.years(), index.years());
+        assertSame(index.years(FilingStatus.S), index.years(FilingStatus.S));
+    }
+
+    @Test
+    public void withVersion_sharesDataAndLabelsSnapshot() {
+        BracketIndex index = BracketIndex.of(List.of(rate(2021, FilingStatus.S, 0.10f, "0", null)), List.of());
+        Instant committed = Instant.parse("2025-04-01T12:00:00Z");
+
+        BracketIndex versioned = index.withVersion(3, committed);
+
+        assertEquals(0, index.version());
+        assertEquals(3, versioned.version());
+        assertEquals(committed, versioned.lastModified());
+        assertSame(index.schedule(2021, FilingStatus.S).orElseThrow(), versioned.schedule(2021, FilingStatus.S).orElseThrow());
+        assertSame(index.catalog(), versioned.catalog());
+    }
+
+    @Test
+    public void schedule_missing_isEmpty() {
+        BracketIndex index = BracketIndex.empty();
+        assertTrue(index.schedule(2021, FilingStatus.S).isEmpty());
+        assertTrue(index.schedules(2021).isEmpty());
+        assertTrue(index.years().isEmpty());
+    }
+
+    @Test
+    public void of_packsEveryScheduleIntoSharedColumns() {
+        List<TaxRate> rows = new ArrayList<>();
+        for (int year = 1913; year <= 2021; year++) {
+            for (FilingStatus status : FilingStatus.values()) {
+                for (int b = 0; b < 7; b++) {
+                    String end = b == 6 ? null : String.valueOf((b + 1) * 10_000);
+                    rows.add(rate(year, status, 0.05f * (b + 1), String.valueOf(b * 10_000), end));
+                }
+            }
+        }
+        BracketIndex index = BracketIndex.of(rows, List.of());
+
+        int brackets = rows.size();
+        assertEquals(109 * FilingStatus.values().length, index.scheduleCount());
+        assertEquals(brackets, index.packedBracketCount());
+        // three long columns and one int column, nothing per bracket beyond the primitives
+        long expected = 3 * BracketColumns.arrayBytes(brackets, Long.BYTES)
+                + BracketColumns.arrayBytes(brackets, Integer.BYTES);
+        assertEquals(expected, index.columnBytesEstimate());
+        assertTrue(index.columnBytesEstimate() <= 28L * brackets + 64);
+
+        // every schedule still evaluates against its own slice
+        TaxSchedule first = index.schedule(1913, FilingStatus.values()[0]).orElseThrow();
+        TaxSchedule last = index.schedule(2021, FilingStatus.values()[FilingStatus.values().length - 1]).orElseThrow();
+        assertEquals(7, first.size());
+        assertEquals(0, last.startCents(0));
+        assertEquals(TaxSchedule.NO_UPPER_LIMIT, last.endCents(6));
+        assertEquals(first.totalTaxCents(5_000_000), last.totalTaxCents(5_000_000));
+        assertEquals(3, last.reachedCount(2_000_001));
+    }
+
+    @Test
+    public void columnBytesEstimate_matchesMeasuredAllocation() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        int brackets = 100_000;
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        BracketColumns columns = new BracketColumns(brackets);
+        long measured = threads.getThreadAllocatedBytes(threadId) - before;
+
+        long estimated = columns.columnBytesEstimate();
+        assertTrue(Math.abs(measured - estimated) <= 1024, "measured=" + measured + " estimated=" + estimated);
+    }
+}
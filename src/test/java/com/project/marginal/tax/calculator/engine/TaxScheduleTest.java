@@ -0,0 +1,225 @@
+package com.project.marginal.tax.calculator.engine;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaxScheduleTest {
+
+    private static Bracket bracket(String start, String end, float rate) {
+        return new Bracket(new BigDecimal(start), end == null ? null : new BigDecimal(end), rate);
+    }
+
+    private static TaxSchedule schedule2021() {
+        return new TaxSchedule(2021, FilingStatus.S, List.of(
+                bracket("0", "9950", 0.10f),
+                bracket("9950", "40525", 0.12f),
+                bracket("40525", "86375", 0.22f),
+                bracket("86375", "164925", 0.24f),
+                bracket("164925", "209425", 0.32f),
+                bracket("209425", "523600", 0.35f),
+                bracket("523600", null, 0.37f)
+        ));
+    }
+
+    private static TaxSchedule randomSchedule(Random random) {
+        int n = 1 + random.nextInt(32);
+        List<Bracket> brackets = new ArrayList<>();
+        long start = 0;
+        for (int i = 0; i < n; i++) {
+            long width = 1 + (long) (random.nextDouble() * 50_000_000L);
+            String end = i == n - 1 ? null : BigDecimal.valueOf(start + width, 2).toPlainString();
+            float rate = random.nextInt(9_500) / 10_000f;
+            brackets.add(bracket(BigDecimal.valueOf(start, 2).toPlainString(), end, rate));
+            start += width;
+        }
+        return new TaxSchedule(1918, FilingStatus.S, brackets);
+    }
+
+    /** BigDecimal reference: exact sum over the reached brackets, rounded half up once. */
+    private static long referenceTotalCents(TaxSchedule schedule, long incomeCents) {
+        BigDecimal income = BigDecimal.valueOf(incomeCents, 2);
+        BigDecimal total = BigDecimal.ZERO;
+        for (Bracket b : schedule.getBrackets()) {
+            if (b.rangeStart().compareTo(income) >= 0) {
+                break;
+            }
+            BigDecimal end = b.rangeEnd() == null ? income : b.rangeEnd().min(income);
+            BigDecimal rate = BigDecimal.valueOf(FixedPoint.toRateMicros(b.rate()), 6);
+            total = total.add(end.subtract(b.rangeStart()).multiply(rate));
+        }
+        return total.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @Test
+    public void reachedCount_boundaries() {
+        TaxSchedule schedule = schedule2021();
+        assertEquals(0, schedule.reachedCount(0));
+        assertEquals(1, schedule.reachedCount(1));
+        assertEquals(1, schedule.reachedCount(995_000));
+        assertEquals(2, schedule.reachedCount(995_001));
+        assertEquals(7, schedule.reachedCount(100_000_000));
+    }
+
+    @Test
+    public void totalTaxCents_knownValues() {
+        TaxSchedule schedule = schedule2021();
+        assertEquals(0, schedule.totalTaxCents(0));
+        assertEquals(99_500, schedule.totalTaxCents(995_000));
+        assertEquals(466_400, schedule.totalTaxCents(4_052_500));
+        assertEquals(370_000, schedule.marginalRateMicros(60_000_000));
+        assertEquals(100_000, schedule.marginalRateMicros(10_000));
+        assertEquals(0, schedule.marginalRateMicros(0));
+    }
+
+    @Test
+    public void totalTaxCents_highIncome_exactToTheCent() {
+        TaxSchedule schedule = schedule2021();
+        // $16,777,217.01 is not representable as a float
+        long income = 1_677_721_701L;
+        assertEquals(referenceTotalCents(schedule, income), schedule.totalTaxCents(income));
+        assertEquals(referenceTotalCents(schedule, FixedPoint.MAX_INCOME_CENTS),
+                schedule.totalTaxCents(FixedPoint.MAX_INCOME_CENTS));
+    }
+
+    @Test
+    public void totalTaxCents_matchesBigDecimalReference_randomSchedules() {
+        Random random = new Random(20250101L);
+        for (int s = 0; s < 200; s++) {
+            TaxSchedule schedule = randomSchedule(random);
+            for (int i = 0; i < 500; i++) {
+                long income = i % 2 == 0
+                        ? (long) (random.nextDouble() * 2_000_000_000L)
+                        : (long) (random.nextDouble() * FixedPoint.MAX_INCOME_CENTS);
+                assertEquals(referenceTotalCents(schedule, income), schedule.totalTaxCents(income),
+                        "schedule=" + s + " income=" + income);
+            }
+        }
+    }
+
+    @Test
+    public void bracketTaxCents_sumsToTotalExactly() {
+        Random random = new Random(7);
+        for (int s = 0; s < 100; s++) {
+            TaxSchedule schedule = s == 0 ? schedule2021() : randomSchedule(random);
+            for (int i = 0; i < 1_000; i++) {
+                long income = (long) (random.nextDouble() * 100_000_000L);
+                long sum = 0;
+                int reached = schedule.reachedCount(income);
+                for (int b = 0; b < reached; b++) {
+                    long cents = schedule.bracketTaxCents(b, income);
+                    assertTrue(cents >= 0, "schedule=" + s + " income=" + income);
+                    sum += cents;
+                }
+                assertEquals(schedule.totalTaxCents(income), sum, "schedule=" + s + " income=" + income);
+            }
+        }
+    }
+
+    @Test
+    public void bracketTaxCents_fractionalCentsRoundTheRunningTotal() {
+        // exact amounts are 0.5, 1.5 and 2.5 cents: rounded one by one they would add up to 6 cents, not 5
+        TaxSchedule schedule = new TaxSchedule(2021, FilingStatus.S, List.of(
+                bracket("0", "0.05", 0.10f),
+                bracket("0.05", "0.10", 0.30f),
+                bracket("0.10", null, 0.50f)
+        ));
+
+        assertEquals(5, schedule.totalTaxCents(15));
+        assertEquals(1, schedule.bracketTaxCents(0, 15));
+        assertEquals(1, schedule.bracketTaxCents(1, 15));
+        assertEquals(3, schedule.bracketTaxCents(2, 15));
+    }
+
+    @Test
+    public void emptySchedule_owesNothing() {
+        TaxSchedule schedule = new TaxSchedule(2021, FilingStatus.S, List.of());
+        assertEquals(0, schedule.reachedCount(100));
+        assertEquals(0, schedule.totalTaxCents(100));
+    }
+
+    @Test
+    public void fixedPoint_conversions() {
+        assertEquals(396_000, FixedPoint.toRateMicros(0.396f));
+        assertEquals(12_500, FixedPoint.toRateMicros(0.0125f));
+        assertEquals(1_234_567L, FixedPoint.toCents(new BigDecimal("12345.665")));
+        assertEquals(1L, FixedPoint.microsToCents(500_000));
+        assertEquals(0L, FixedPoint.microsToCents(499_999));
+    }
+
+    @Test
+    public void incomeForTax_knownValues() {
+        TaxSchedule schedule = schedule2021();
+        assertEquals(0, schedule.incomeForTax(0).orElseThrow());
+        // $995.00 is owed at the top of the 10% bracket, and already at $9,949.95 once rounded half up
+        assertEquals(994_995, schedule.incomeForTax(99_500).orElseThrow());
+        assertEquals(99_500, schedule.totalTaxCents(994_995));
+        assertEquals(995_000 + 10_000, schedule.incomeForNet(995_000 + 10_000 - 99_500 - 1_200).orElseThrow());
+        assertTrue(TaxSchedule.empty(2021, FilingStatus.S).incomeForTax(1).isEmpty());
+        assertEquals(12_345, TaxSchedule.empty(2021, FilingStatus.S).incomeForNet(12_345).orElseThrow());
+    }
+
+    @Test
+    public void inverseSolvers_returnSmallestQualifyingIncome_randomSchedules() {
+        Random random = new Random(99);
+        for (int s = 0; s < 200; s++) {
+            TaxSchedule schedule = randomSchedule(random);
+            for (int i = 0; i < 200; i++) {
+                long income = (long) (random.nextDouble() * (i % 2 == 0 ? 2_000_000_000L : FixedPoint.MAX_INCOME_CENTS));
+
+                long tax = schedule.totalTaxCents(income);
+                long byTax = schedule.incomeForTax(tax).orElseThrow();
+                assertTrue(byTax <= income, "schedule=" + s + " income=" + income);
+                assertTrue(schedule.totalTaxCents(byTax) >= tax);
+                assertTrue(byTax == 0 || schedule.totalTaxCents(byTax - 1) < tax, "not smallest for tax " + tax);
+
+                long net = income - tax;
+                long byNet = schedule.incomeForNet(net).orElseThrow();
+                assertTrue(byNet <= income, "schedule=" + s + " income=" + income);
+                assertTrue(byNet - schedule.totalTaxCents(byNet) >= net);
+                assertTrue(byNet == 0 || (byNet - 1) - schedule.totalTaxCents(byNet - 1) < net, "not smallest for net " + net);
+            }
+        }
+    }
+
+    @Test
+    public void incomeForEffectiveRate_progressiveSchedules() {
+        Random random = new Random(5);
+        for (int s = 0; s < 200; s++) {
+            TaxSchedule schedule = randomProgressiveSchedule(random);
+            int top = schedule.rateMicros(schedule.size() - 1);
+            for (int i = 0; i < 50; i++) {
+                int rate = random.nextInt(top + 1);
+                long income = schedule.incomeForEffectiveRate(rate).orElseThrow();
+                assertTrue(income >= 1);
+                assertTrue(schedule.taxMicros(income) >= (long) rate * income, "schedule=" + s + " rate=" + rate);
+                assertTrue(income == 1 || schedule.taxMicros(income - 1) < (long) rate * (income - 1),
+                        "not smallest for rate " + rate);
+            }
+            // the top rate is only approached asymptotically
+            assertTrue(schedule.incomeForEffectiveRate(top + 1).isEmpty());
+        }
+    }
+
+    private static TaxSchedule randomProgressiveSchedule(Random random) {
+        int n = 1 + random.nextInt(16);
+        List<Bracket> brackets = new ArrayList<>();
+        long start = random.nextBoolean() ? 0 : random.nextInt(1_000_000);
+        float rate = 0;
+        for (int i = 0; i < n; i++) {
+            long width = 1 + (long) (random.nextDouble() * 50_000_000L);
+            rate = Math.min(0.94f, rate + random.nextInt(1_000) / 10_000f);
+            String end = i == n - 1 ? null : BigDecimal.valueOf(start + width, 2).toPlainString();
+            brackets.add(bracket(BigDecimal.valueOf(start, 2).toPlainString(), end, rate));
+            start += width;
+        }
+        return new TaxSchedule(1918, FilingStatus.S, brackets);
+    }
+}
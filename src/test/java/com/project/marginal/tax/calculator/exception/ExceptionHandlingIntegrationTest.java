@@ -1,11 +1,17 @@
 package com.project.marginal.tax.calculator.exception;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.cache.SerializedResponseCache;
 import com.project.marginal.tax.calculator.controller.TaxController;
 import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
 import com.project.marginal.tax.calculator.security.ApiKeyFilter;
+import com.project.marginal.tax.calculator.service.BracketIndexProvider;
+import com.project.marginal.tax.calculator.service.SimulationStreamService;
 import com.project.marginal.tax.calculator.service.TaxDataImportService;
 import com.project.marginal.tax.calculator.service.TaxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -14,7 +20,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,11 +32,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = TaxController.class)
-@Import(GlobalExceptionHandler.class)
+@Import({GlobalExceptionHandler.class, SerializedResponseCache.class, SimpleMeterRegistry.class})
 @AutoConfigureMockMvc(addFilters = false) // Disable default filters to use custom ApiKeyFilter
 public class ExceptionHandlingIntegrationTest {
 
@@ -37,11 +48,22 @@ public class ExceptionHandlingIntegrationTest {
     @MockitoBean
     private TaxDataImportService importService;
 
+    @MockitoBean
+    private SimulationStreamService streamService;
+
+    @MockitoBean
+    private BracketIndexProvider indexProvider;
+
     @MockitoBean
     private ApiKeyFilter apiKeyFilter; // Mock the ApiKeyFilter to avoid actual API key checks
 
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @BeforeEach
+    public void setUp() {
+        when(indexProvider.current()).thenReturn(BracketIndex.empty());
+    }
+
     @Test
     public void whenMissingParam_then400AndJsonError() throws Exception {
         mvc.perform(get("/api/v1/tax/rate"))
@@ -83,4 +105,18 @@ public class ExceptionHandlingIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Bad Request")))
                 .andExpect(jsonPath("$.message", is("Invalid year: 1800")));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenBulkPoolSaturated_then503WithRetryAfter() throws Exception {
+        when(taxService.simulateBulk(anyList()))
+                .thenThrow(new RejectedExecutionException("Too many bulk simulations in progress, retry later"));
+
+        String body = mapper.writeValueAsString(List.of(new TaxInput(2021, null, "1000")));
+        mvc.perform(post("/api/v1/tax/simulate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error", is("Service Unavailable")));
+    }
+}
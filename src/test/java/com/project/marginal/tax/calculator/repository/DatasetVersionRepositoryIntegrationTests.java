@@ -0,0 +1,55 @@
+package com.project.marginal.tax.calculator.repository;
+
+import com.project.marginal.tax.calculator.entity.DatasetVersion;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class DatasetVersionRepositoryIntegrationTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private DatasetVersionRepository versions;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void bump_incrementsTheSingleRow() {
+        Instant seeded = Instant.parse("2025-01-01T00:00:00Z");
+        versions.saveAndFlush(new DatasetVersion(DatasetVersion.ID, 1L, seeded));
+
+        Assertions.assertEquals(1, versions.bump());
+        Assertions.assertEquals(1, versions.bump());
+        entityManager.clear();
+
+        DatasetVersion current = versions.current().orElseThrow();
+        Assertions.assertEquals(3L, current.getVersion());
+        Assertions.assertTrue(current.getUpdatedAt().isAfter(seeded));
+    }
+}
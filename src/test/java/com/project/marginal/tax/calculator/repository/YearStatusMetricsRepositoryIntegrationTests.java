@@ -0,0 +1,70 @@
+package com.project.marginal.tax.calculator.repository;
+
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class YearStatusMetricsRepositoryIntegrationTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private TaxRateRepository taxRates;
+
+    @Autowired
+    private YearStatusMetricsRepository metrics;
+
+    @Test
+    public void rebuild_aggregatesEveryYearAndStatus() {
+        taxRates.saveAll(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.15f, new BigDecimal("500"), null)
+        ));
+        taxRates.flush();
+
+        metrics.deleteAllRows();
+        Assertions.assertEquals(2, metrics.insertFromTaxRates());
+        // a second rebuild replaces the rows rather than conflicting with them
+        metrics.deleteAllRows();
+        Assertions.assertEquals(2, metrics.insertFromTaxRates());
+
+        YearStatusMetrics single = metrics.findById(new YearStatusMetrics.Key(2021, FilingStatus.S)).orElseThrow();
+        Assertions.assertEquals(2, single.getBracketCount());
+        Assertions.assertEquals(0.10f, single.getMinRate());
+        Assertions.assertEquals(0.20f, single.getMaxRate());
+        Assertions.assertEquals(((double) 0.10f + 0.20f) / 2, single.getAvgRate(), 1e-9);
+        Assertions.assertEquals(0, single.getMaxThreshold().compareTo(new BigDecimal("10000")));
+
+        YearStatusMetrics joint = metrics.findById(new YearStatusMetrics.Key(2021, FilingStatus.MFJ)).orElseThrow();
+        Assertions.assertNull(joint.getMaxThreshold());
+        Assertions.assertEquals(0, joint.getMinThreshold().compareTo(new BigDecimal("500")));
+    }
+}
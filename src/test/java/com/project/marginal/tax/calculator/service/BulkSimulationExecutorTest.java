@@ -0,0 +1,80 @@
+package com.project.marginal.tax.calculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkSimulationExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BulkSimulationExecutor executor = new BulkSimulationExecutor(2, 1, registry);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void invokeAll_runsOnDedicatedPool() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = java.util.stream.IntStream.range(0, 20)
+                .<Runnable>mapToObj(i -> () -> threads.add(Thread.currentThread().getName()))
+                .toList();
+
+        executor.invokeAll(tasks);
+
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("bulk-simulate-")), threads.toString());
+        assertEquals(2, executor.getParallelism());
+    }
+
+    @Test
+    public void invokeAll_rethrowsTaskExceptionUnchanged() {
+        IllegalArgumentException thrown = new IllegalArgumentException("No tax rates found for the given year and status");
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> executor.invokeAll(List.of(() -> { }, () -> { throw thrown; })));
+        assertSame(thrown, ex);
+    }
+
+    @Test
+    public void invokeAll_rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> first = caller.submit(() -> executor.invokeAll(List.of(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(1.0, registry.get("tax.simulate.requests.active").gauge().value());
+
+            assertThrows(RejectedExecutionException.class, () -> executor.invokeAll(List.of(() -> { })));
+            assertEquals(1.0, registry.get("tax.simulate.requests.rejected").counter().count());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            assertEquals(0.0, registry.get("tax.simulate.requests.active").gauge().value());
+            executor.invokeAll(List.of(() -> { }));
+        } finally {
+            release.countDown();
+            caller.shutdownNow();
+        }
+    }
+
+    @Test
+    public void metrics_exposePoolSettings() {
+        assertEquals(1.0, registry.get("tax.simulate.requests.limit").gauge().value());
+        assertEquals(2.0, registry.get("executor.parallelism").tag("name", "bulk-simulate").gauge().value());
+    }
+}
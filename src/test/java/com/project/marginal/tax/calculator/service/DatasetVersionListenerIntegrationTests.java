@@ -0,0 +1,143 @@
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.entity.DatasetVersion;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the listener against a real Postgres: an import committed through another connection must reach the
+ * listening node by {@code NOTIFY}, or by polling when the listening connection is unavailable.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DatasetVersionListenerIntegrationTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private TaxRateRepository taxRateRepo;
+    @Autowired
+    private NoIncomeTaxYearRepository noTaxRepo;
+    @Autowired
+    private YearStatusMetricsRepository metricsRepo;
+    @Autowired
+    private DatasetVersionRepository versions;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private BracketIndexProvider indexProvider;
+    private DatasetVersionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        versions.saveAndFlush(new DatasetVersion(DatasetVersion.ID, 1L, Instant.parse("2025-01-01T00:00:00Z")));
+        indexProvider = new BracketIndexProvider(taxRateRepo, noTaxRepo, metricsRepo, versions);
+        assertEquals(1, indexProvider.current().version());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (listener != null) {
+            listener.stop();
+        }
+    }
+
+    /** What an import on another node does to the version row, committed in its own transaction. */
+    private void importOnAnotherNode() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            versions.bump();
+            versions.announce();
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    void notify_refreshesTheSnapshotWithoutWaitingForThePoll() throws Exception {
+        // A poll interval far beyond the timeout: only the notification can trigger the refresh in time
+        listener = new DatasetVersionListener(indexProvider, () -> DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()), 600_000);
+        listener.start();
+        await(listener::isListening);
+
+        importOnAnotherNode();
+
+        await(() -> indexProvider.current().version() == 2);
+    }
+
+    @Test
+    void rolledBackImport_isNotAnnounced() throws Exception {
+        listener = new DatasetVersionListener(indexProvider, () -> DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()), 600_000);
+        listener.start();
+        await(listener::isListening);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            versions.bump();
+            versions.announce();
+            status.setRollbackOnly();
+        });
+        importOnAnotherNode();
+
+        // the rolled-back bump never surfaces; the committed one arrives as version 2
+        await(() -> indexProvider.current().version() == 2);
+    }
+
+    @Test
+    void withoutAListeningConnection_pollingStillCatchesUp() throws Exception {
+        listener = new DatasetVersionListener(indexProvider, () -> {
+            throw new SQLException("listening connection unavailable");
+        }, 50);
+        listener.start();
+
+        importOnAnotherNode();
+
+        await(() -> indexProvider.current().version() == 2);
+        assertFalse(listener.isListening());
+    }
+}
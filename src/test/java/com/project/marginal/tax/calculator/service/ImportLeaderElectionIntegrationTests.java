@@ -0,0 +1,81 @@
+package com.project.marginal.tax.calculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs two replicas' elections against one real Postgres.
+ */
+@Testcontainers
+class ImportLeaderElectionIntegrationTests {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    private final ImportLeaderElection first = election();
+    private final ImportLeaderElection second = election();
+
+    private static ImportLeaderElection election() {
+        return new ImportLeaderElection(() -> DriverManager.getConnection(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.release();
+        second.release();
+    }
+
+    @Test
+    void exactlyOneNodeLeads_andTheOtherTakesOverAfterRelease() {
+        first.renew();
+        second.renew();
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+
+        // renewing keeps the lease
+        first.renew();
+        second.renew();
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+
+        first.release();
+        second.renew();
+        assertTrue(second.isLeader());
+        first.renew();
+        assertFalse(first.isLeader());
+    }
+
+    @Test
+    void leaderSessionKilled_failsOverOnTheNextRenewal() throws Exception {
+        first.renew();
+        assertTrue(first.isLeader());
+
+        try (Connection admin = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword()); Statement statement = admin.createStatement()) {
+            statement.execute("SELECT pg_terminate_backend(pid) FROM pg_locks"
+                    + " WHERE locktype = 'advisory' AND granted AND pid <> pg_backend_pid()");
+        }
+
+        // before its next renewal, the old leader must not act on the lost lease
+        assertFalse(first.confirmLeadership());
+
+        for (ImportLeaderElection node : List.of(first, second)) {
+            node.renew();
+        }
+        assertFalse(first.isLeader());
+        assertTrue(second.isLeader());
+        assertTrue(second.confirmLeadership());
+    }
+}
@@ -0,0 +1,102 @@
+package com.project.marginal.tax.calculator.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class ImportLeaderElectionTest {
+
+    private SimpleMeterRegistry registry;
+    private Connection connection;
+    private ResultSet lockResult;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        lockResult = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+    }
+
+    private double transitions(String event) {
+        return registry.get("tax.import.leader.transitions").tag("event", event).counter().count();
+    }
+
+    @Test
+    public void renew_takesTheFreeLock_andKeepsItsSessionOpen() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        ImportLeaderElection election = new ImportLeaderElection(() -> connection, registry);
+
+        election.renew();
+        election.renew();
+
+        assertTrue(election.isLeader());
+        assertEquals(1, registry.get("tax.import.leader").gauge().value());
+        assertEquals(1, transitions("acquired"));
+        assertEquals(1, registry.get("tax.import.leader.acquire.wait").timer().count());
+        assertEquals(2, registry.get("tax.import.leader.renewal").timer().count());
+        verify(connection, never()).close();
+    }
+
+    @Test
+    public void renew_deadSession_losesLeadership() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        ImportLeaderElection election = new ImportLeaderElection(() -> connection, registry);
+        election.renew();
+
+        when(connection.isValid(anyInt())).thenReturn(false);
+        election.renew();
+
+        assertFalse(election.isLeader());
+        assertEquals(0, registry.get("tax.import.leader").gauge().value());
+        assertEquals(1, transitions("lost"));
+        verify(connection).close();
+    }
+
+    @Test
+    public void confirmLeadership_sessionDiedSinceTheLastRenewal_isFalse() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        ImportLeaderElection election = new ImportLeaderElection(() -> connection, registry);
+        election.renew();
+        assertTrue(election.confirmLeadership());
+
+        // the session dies between two scheduled renewals
+        when(connection.isValid(anyInt())).thenReturn(false);
+        assertTrue(election.isLeader());
+        assertFalse(election.confirmLeadership());
+        assertFalse(election.isLeader());
+        assertEquals(1, transitions("lost"));
+    }
+
+    @Test
+    public void renew_lockHeldElsewhere_staysFollowerWithoutAConnection() throws SQLException {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+        ImportLeaderElection election = new ImportLeaderElection(() -> connection, registry);
+
+        election.renew();
+
+        assertFalse(election.isLeader());
+        assertEquals(0, transitions("acquired"));
+        verify(connection).close();
+
+        ImportLeaderElection unreachable = new ImportLeaderElection(() -> {
+            throw new SQLException("connection refused");
+        }, new SimpleMeterRegistry());
+        unreachable.renew();
+        assertFalse(unreachable.isLeader());
+    }
+}
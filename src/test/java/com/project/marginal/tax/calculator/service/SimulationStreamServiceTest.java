@@ -0,0 +1,145 @@
+package com.project.marginal.tax.calculator.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.marginal.tax.calculator.cache.BreakdownResultCache;
+import com.project.marginal.tax.calculator.config.JacksonConfig;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class SimulationStreamServiceTest {
+
+    private final ObjectMapper mapper = new JacksonConfig().objectMapper();
+    private BulkSimulationExecutor bulkExecutor;
+    private SimulationStreamService streamService;
+
+    @BeforeEach
+    public void setUp() {
+        TaxRateRepository repo = Mockito.mock(TaxRateRepository.class);
+        NoIncomeTaxYearRepository noTaxRepo = Mockito.mock(NoIncomeTaxYearRepository.class);
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+        bulkExecutor = new BulkSimulationExecutor(2, 4, new SimpleMeterRegistry());
+        BracketIndexProvider provider = new BracketIndexProvider(repo, noTaxRepo,
+                Mockito.mock(YearStatusMetricsRepository.class), Mockito.mock(DatasetVersionRepository.class));
+        TaxService taxService = new TaxService(provider, bulkExecutor,
+                new BreakdownResultCache(provider, 0, new SimpleMeterRegistry()));
+        streamService = new SimulationStreamService(taxService, mapper, 3, 1_000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkExecutor.shutdown();
+    }
+
+    private List<JsonNode> run(String ndjson, boolean brackets) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamService.simulate(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out, brackets);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return mapper.readTree(line);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .toList();
+    }
+
+    @Test
+    public void simulate_writesOneLinePerInputInOrder() throws IOException {
+        StringBuilder in = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            in.append("{\"year\":2021,\"status\":\"S\",\"income\":").append(i * 10_000).append("}\n");
+        }
+
+        List<JsonNode> lines = run(in.toString(), false);
+
+        assertEquals(10, lines.size());
+        assertEquals("$1,000.00", lines.get(0).get("totalTaxPaid").asText());
+        assertEquals("$19,000.00", lines.get(9).get("totalTaxPaid").asText());
+        assertEquals(0, lines.get(9).get("brackets").size());
+    }
+
+    @Test
+    public void simulate_invalidRowsBecomeErrorLines() throws IOException {
+        String in = """
+                {"year":2021,"status":"S","income":20000}
+                {"year":1800,"status":"S","income":20000}
+                {"year":2021,"status":"NOPE","income":20000}
+                {"year":1900,"status":"S","income":20000}
+                {"year":2021,"status":"S","income":20000}
+                {"year":2021,"status":"S","income":-1e30}
+                """;
+
+        List<JsonNode> lines = run(in, true);
+
+        assertEquals(6, lines.size());
+        assertEquals(2, lines.get(0).get("brackets").size());
+        assertEquals(2, lines.get(1).get("line").asInt());
+        assertEquals("Invalid year: 1800", lines.get(1).get("message").asText());
+        assertEquals(3, lines.get(2).get("line").asInt());
+        assertEquals("Bad Request", lines.get(2).get("error").asText());
+        assertNotNull(lines.get(3).get("message"));
+        assertEquals("$3,000.00", lines.get(4).get("totalTaxPaid").asText());
+        assertEquals("Income must be greater than 0", lines.get(5).get("message").asText());
+    }
+
+    @Test
+    public void simulate_malformedJsonStopsTheStream() throws IOException {
+        List<JsonNode> lines = run("{\"year\":2021,\"status\":\"S\",\"income\":20000}\n{\"year\":\n", false);
+
+        assertEquals(2, lines.size());
+        assertEquals("Malformed JSON", lines.get(1).get("error").asText());
+    }
+
+    @Test
+    public void simulate_flushesEachChunkBeforeReadingTheNext() throws IOException {
+        int[] flushedAt = new int[1];
+        int[] bytesRead = new int[1];
+        String row = "{\"year\":2021,\"status\":\"S\",\"income\":20000}\n";
+        byte[] input = row.repeat(7).getBytes(StandardCharsets.UTF_8);
+        InputStream in = new FilterInputStream(new ByteArrayInputStream(input)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                // hand the parser one row at a time so reads interleave with writes
+                int n = super.read(b, off, Math.min(len, row.length()));
+                bytesRead[0] += Math.max(n, 0);
+                return n;
+            }
+        };
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                if (flushedAt[0] == 0) {
+                    flushedAt[0] = bytesRead[0];
+                }
+            }
+        };
+
+        assertEquals(7, streamService.simulate(in, out, false));
+        // the first chunk of 3 rows was written before the rest of the request was consumed
+        assertTrue(flushedAt[0] > 0 && flushedAt[0] < input.length, "flushed after " + flushedAt[0] + " bytes");
+    }
+}
@@ -3,13 +3,16 @@ package com.project.marginal.tax.calculator.service;
 
 import com.project.marginal.tax.calculator.entity.FilingStatus;
 import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
 import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
 import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
 import com.project.marginal.tax.calculator.utility.CsvImportUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import java.math.BigDecimal;
 import java.nio.file.Files;
@@ -27,12 +30,18 @@ public class TaxDataImportServiceTests {
     CsvImportUtils realImporter;
     TaxRateRepository repo;
     NoIncomeTaxYearRepository noTaxRepo;
+    YearStatusMetricsRepository metricsRepo;
+    DatasetVersionRepository versionRepo;
+    BracketIndexProvider indexProvider;
 
     @BeforeEach
     void setUp(){
         realImporter = new CsvImportUtils();
         repo = mock(TaxRateRepository.class);
         noTaxRepo = mock(NoIncomeTaxYearRepository.class);
+        metricsRepo = mock(YearStatusMetricsRepository.class);
+        versionRepo = mock(DatasetVersionRepository.class);
+        indexProvider = mock(BracketIndexProvider.class);
     }
 
     @Test
@@ -49,7 +58,7 @@ public class TaxDataImportServiceTests {
 
         when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
-        TaxDataImportService svc = new TaxDataImportService(realImporter, repo, noTaxRepo);
+        TaxDataImportService svc = new TaxDataImportService(realImporter, repo, noTaxRepo, metricsRepo, versionRepo, indexProvider);
         svc.importData(Files.newInputStream(csv));
 
         ArgumentCaptor<TaxRate> cap = ArgumentCaptor.forClass(TaxRate.class);
@@ -65,6 +74,53 @@ public class TaxDataImportServiceTests {
                         tr.getRate() == 0.14f
         );
         assertTrue(found, "Should have saved the 2023 S bracket with rate 14%");
+
+        InOrder order = inOrder(repo, metricsRepo, versionRepo, indexProvider);
+        order.verify(repo, atLeastOnce()).save(any());
+        order.verify(metricsRepo).deleteAllRows();
+        order.verify(metricsRepo).insertFromTaxRates();
+        order.verify(versionRepo).bump();
+        order.verify(versionRepo).announce();
+        order.verify(indexProvider).refreshAfterCommit();
+    }
+
+    @Test
+    void importData_skipsDuplicatesAndExistingNoTaxYearsWithoutWriting() throws Exception {
+        String header = "Year,MFJ_rate,MFJ_start,MFJ_end,"
+                + "MFS_rate,MFS_start,MFS_end,"
+                + "S_rate,S_start,S_end,"
+                + "HH_rate,HH_start,HH_end\n";
+        String row = "2023,10%,$0,$1000,12%,$0,$2000,14%,$0,$3000,16%,$0,$4000\n";
+        String noTax = "1900,0%,$0,,0%,$0,,0%,$0,,0%,$0,\n";
+        Path csv = tempDir.resolve("dupes.csv");
+        Files.writeString(csv, header + row + row + noTax);
+        when(noTaxRepo.existsById(1900)).thenReturn(true);
+
+        new TaxDataImportService(realImporter, repo, noTaxRepo, metricsRepo, versionRepo, indexProvider)
+                .importData(Files.newInputStream(csv));
+
+        verify(repo, times(4)).save(any());
+        verify(noTaxRepo, never()).save(any());
+        verify(metricsRepo).insertFromTaxRates();
     }
 
+    @Test
+    void importData_reimportingTheSameFile_leavesTheDatasetVersionAlone() throws Exception {
+        String header = "Year,MFJ_rate,MFJ_start,MFJ_end,"
+                + "MFS_rate,MFS_start,MFS_end,"
+                + "S_rate,S_start,S_end,"
+                + "HH_rate,HH_start,HH_end\n";
+        String row = "2023,10%,$0,$1000,12%,$0,$2000,14%,$0,$3000,16%,$0,$4000\n";
+        String noTax = "1900,0%,$0,,0%,$0,,0%,$0,,0%,$0,\n";
+        Path csv = tempDir.resolve("unchanged.csv");
+        Files.writeString(csv, header + row + noTax);
+        when(repo.existsByYear(2023)).thenReturn(true);
+        when(noTaxRepo.existsById(1900)).thenReturn(true);
+
+        new TaxDataImportService(realImporter, repo, noTaxRepo, metricsRepo, versionRepo, indexProvider)
+                .importData(Files.newInputStream(csv));
+
+        verify(repo, never()).save(any());
+        verifyNoInteractions(metricsRepo, versionRepo, indexProvider);
+    }
 }
@@ -0,0 +1,111 @@
+package com.project.marginal.tax.calculator.service;
+
+import com.project.marginal.tax.calculator.MarginalTaxRateCalculatorApplication;
+import com.project.marginal.tax.calculator.dto.Metric;
+import com.project.marginal.tax.calculator.dto.TaxInput;
+import com.project.marginal.tax.calculator.dto.TaxPaidResponse;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
+import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
+import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards the number of SQL statements issued per read request, so a regression back to per-request
+ * repository lookups fails the build.
+ */
+@Testcontainers
+@SpringBootTest(
+        classes = MarginalTaxRateCalculatorApplication.class,
+        properties = {
+                "app.ingest.api-key = test-api-key",
+                "tax.s3-import.enabled = false",
+                "spring.jpa.properties.hibernate.generate_statistics = true"
+        }
+)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TaxServiceQueryCountIntegrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    @Autowired
+    private TaxService service;
+    @Autowired
+    private TaxRateRepository repo;
+    @Autowired
+    private NoIncomeTaxYearRepository noTaxRepo;
+    @Autowired
+    private BracketIndexProvider indexProvider;
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repo.deleteAll();
+        noTaxRepo.deleteAll();
+        repo.saveAll(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("10000"), new BigDecimal("40000")),
+                new TaxRate(2021, FilingStatus.S, 0.22f, new BigDecimal("40000"), null)
+        ));
+        noTaxRepo.save(new NoIncomeTaxYear(1900));
+        indexProvider.refresh();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void breakdown_issuesNoSqlStatements() {
+        TaxPaidResponse resp = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "50000"));
+
+        assertEquals("$7,800.00", resp.getTotalTaxPaid());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void noTaxYearBreakdown_issuesNoSqlStatements() {
+        service.calculateTaxBreakdown(new TaxInput(1900, FilingStatus.S, "50000"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void referenceReads_issueNoSqlStatements() {
+        service.listYears();
+        service.getRates(2021, null);
+        service.getSummary(2021, FilingStatus.S);
+        service.getHistory(FilingStatus.S, Metric.TOP_RATE, 1890, 2021);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,26 +1,37 @@
 package com.project.marginal.tax.calculator.service;
 
+import com.project.marginal.tax.calculator.cache.BreakdownResultCache;
 import com.project.marginal.tax.calculator.dto.*;
+import com.project.marginal.tax.calculator.engine.BracketIndex;
+import com.project.marginal.tax.calculator.entity.DatasetVersion;
 import com.project.marginal.tax.calculator.entity.FilingStatus;
 import com.project.marginal.tax.calculator.entity.NoIncomeTaxYear;
 import com.project.marginal.tax.calculator.entity.TaxRate;
+import com.project.marginal.tax.calculator.entity.YearStatusMetrics;
+import com.project.marginal.tax.calculator.repository.DatasetVersionRepository;
 import com.project.marginal.tax.calculator.repository.NoIncomeTaxYearRepository;
 import com.project.marginal.tax.calculator.repository.TaxRateRepository;
+import com.project.marginal.tax.calculator.repository.YearStatusMetricsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static com.project.marginal.tax.calculator.utility.NumberFormatUtils.percentFormat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.doThrow;
 
@@ -29,13 +40,20 @@ public class TaxServiceTest {
 
     private TaxRateRepository repo;
     private NoIncomeTaxYearRepository noTaxRepo;
+    private YearStatusMetricsRepository metricsRepo;
+    private DatasetVersionRepository versionRepo;
+    private BracketIndexProvider indexProvider;
     private TaxService service;
 
     @BeforeEach
     public void setUp() {
         repo = Mockito.mock(TaxRateRepository.class);
         noTaxRepo = Mockito.mock(NoIncomeTaxYearRepository.class);
-        service = new TaxService(repo, noTaxRepo);
+        metricsRepo = Mockito.mock(YearStatusMetricsRepository.class);
+        versionRepo = Mockito.mock(DatasetVersionRepository.class);
+        indexProvider = new BracketIndexProvider(repo, noTaxRepo, metricsRepo, versionRepo);
+        service = new TaxService(indexProvider, new BulkSimulationExecutor(2, 4, new SimpleMeterRegistry()),
+                new BreakdownResultCache(indexProvider, 1 << 20, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -61,6 +79,24 @@ public class TaxServiceTest {
         assertEquals(List.of(2019, 2020, 2021), years);
     }
 
+    @Test
+    public void getYearAvailability_flagsStatusesPerYear() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2020, FilingStatus.S, 0.10f, BigDecimal.ZERO, null),
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(2019)));
+
+        YearAvailabilityResponse availability = service.getYearAvailability();
+
+        assertArrayEquals(new int[]{2019, 2020, 2021}, availability.years());
+        assertArrayEquals(new boolean[]{true, false, false}, availability.noIncomeTax());
+        assertArrayEquals(new boolean[]{false, true, true}, availability.available().get(FilingStatus.S));
+        assertArrayEquals(new boolean[]{false, false, true}, availability.available().get(FilingStatus.MFJ));
+        assertArrayEquals(new boolean[]{false, false, false}, availability.available().get(FilingStatus.HOH));
+    }
+
     @Test
     public void getRates_invalidYear_throws() {
         int tooOld = 1800;
@@ -78,7 +114,7 @@ public class TaxServiceTest {
     @Test
     public void testGetRatesByYear() {
         TaxRate tr = new TaxRate(2021, FilingStatus.S, 0.10f, new BigDecimal("0"), new BigDecimal("50000"));
-        when(repo.findByYear(2021)).thenReturn(List.of(tr));
+        when(repo.findAll()).thenReturn(List.of(tr));
 
         List<TaxRateDto> dtos = service.getTaxRateByYear(2021);
         assertEquals(1, dtos.size());
@@ -90,8 +126,7 @@ public class TaxServiceTest {
     @Test
     public void getRates_noTaxYear_returnsNoIncomeTaxDto() {
         int year = 1895;
-        when(noTaxRepo.existsById(year)).thenReturn(true);
-        when(noTaxRepo.findById(year)).thenReturn(Optional.of(new NoIncomeTaxYear(year)));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(year)));
         List<TaxRateDto> dtos = service.getRates(year, FilingStatus.S);
         assertEquals(1, dtos.size());
         TaxRateDto dto = dtos.get(0);
@@ -107,8 +142,7 @@ public class TaxServiceTest {
     public void getRates_nullStatus_returnsAllStatuses() {
         int year = 2021;
         TaxRate r1 = new TaxRate(year, FilingStatus.S,  0.1f, BigDecimal.ZERO, BigDecimal.TEN);
-        when(noTaxRepo.existsById(year)).thenReturn(false);
-        when(repo.findByYear(year)).thenReturn(List.of(r1));
+        when(repo.findAll()).thenReturn(List.of(r1));
         List<TaxRateDto> dtos = service.getRates(year, null);
         assertEquals(1, dtos.size());
         assertEquals(FilingStatus.S, dtos.get(0).getFilingStatus());
@@ -118,8 +152,8 @@ public class TaxServiceTest {
     public void getRates_withStatus_returnsFiltered() {
         int year = 2021;
         TaxRate r1 = new TaxRate(year, FilingStatus.MFJ, 0.1f, BigDecimal.ZERO, BigDecimal.TEN);
-        when(noTaxRepo.existsById(year)).thenReturn(false);
-        when(repo.findByYearAndStatus(year, FilingStatus.MFJ)).thenReturn(List.of(r1));
+        TaxRate r2 = new TaxRate(year, FilingStatus.S, 0.1f, BigDecimal.ZERO, BigDecimal.TEN);
+        when(repo.findAll()).thenReturn(List.of(r1, r2));
         List<TaxRateDto> dtos = service.getRates(year, FilingStatus.MFJ);
         assertEquals(1, dtos.size());
         assertEquals(FilingStatus.MFJ, dtos.get(0).getFilingStatus());
@@ -145,11 +179,541 @@ public class TaxServiceTest {
         tr.setRangeStart(new BigDecimal("0"));
         tr.setRangeEnd(new BigDecimal("50000"));
 
-        when(repo.findByYearAndStatusAndRangeStartLessThan(eq(2021), eq(FilingStatus.S), any())).thenReturn(List.of(tr));
+        when(repo.findAll()).thenReturn(List.of(tr));
         TaxPaidResponse response = service.calculateTaxBreakdown(input);
         assertTrue(response.getTotalTaxPaid().contains("5,000"));
     }
 
+    @Test
+    public void calculateTaxBreakdown_multipleBrackets_singlePass() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("10000"), new BigDecimal("40000")),
+                new TaxRate(2021, FilingStatus.S, 0.22f, new BigDecimal("40000"), new BigDecimal("85000")),
+                new TaxRate(2021, FilingStatus.S, 0.24f, new BigDecimal("85000"), null)
+        ));
+
+        TaxPaidResponse resp = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "50000"));
+
+        assertEquals(3, resp.getBrackets().size());
+        assertEquals("$1,000.00", resp.getBrackets().get(0).getTaxPaid());
+        assertEquals("$3,600.00", resp.getBrackets().get(1).getTaxPaid());
+        assertEquals("$2,200.00", resp.getBrackets().get(2).getTaxPaid());
+        assertEquals("$50,000.00", resp.getBrackets().get(2).getRangeEnd());
+        assertEquals("$6,800.00", resp.getTotalTaxPaid());
+        assertEquals("13.6%", resp.getAvgRate());
+    }
+
+    @Test
+    public void computeBreakdown_returnsRawCentsAndRates() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("10000"), null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        TaxResult result = service.computeBreakdown(new TaxInput(2021, FilingStatus.S, "25000.50"));
+
+        assertEquals(2_500_050, result.incomeCents());
+        assertEquals(280_006, result.totalTaxCents());
+        assertEquals(280_006.0 / 2_500_050, result.avgRate());
+        assertEquals(new BracketTax(2021, FilingStatus.S, 1_000_000, 2_500_050, 0.12, 180_006),
+                result.brackets().get(1));
+        assertNull(result.message());
+
+        // the v1 view formats the same values
+        TaxPaidResponse formatted = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "25000.50"));
+        assertEquals("$2,800.06", formatted.getTotalTaxPaid());
+        assertEquals(percentFormat(result.avgRate()), formatted.getAvgRate());
+        assertEquals("12%", formatted.getBrackets().get(1).getTaxRate());
+
+        assertTrue(service.computeTotals(new TaxInput(2021, FilingStatus.S, "25000.50")).brackets().isEmpty());
+        assertEquals(280_006, service.computeTotals(new TaxInput(2021, FilingStatus.S, "25000.50")).totalTaxCents());
+        assertNotNull(service.computeBreakdown(new TaxInput(1900, FilingStatus.S, "100")).message());
+    }
+
+    @Test
+    public void computeBreakdown_repeatsAreCachedUntilTheDataChanges() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+
+        TaxResult first = service.computeBreakdown(new TaxInput(2021, FilingStatus.S, "$1,000"));
+        assertSame(first, service.computeBreakdown(new TaxInput(2021, FilingStatus.S, "1000.00")));
+        assertThrows(UnsupportedOperationException.class, () -> first.brackets().clear());
+
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.20f, BigDecimal.ZERO, null)));
+        indexProvider.refresh();
+
+        assertEquals(20_000, service.computeBreakdown(new TaxInput(2021, FilingStatus.S, "1000")).totalTaxCents());
+    }
+
+    @Test
+    public void getRateBrackets_rawBoundsWithOpenTopBracket() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("9950")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("9950"), null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        List<RateBracket> single = service.getRateBrackets(2021, FilingStatus.S);
+        assertEquals(List.of(
+                new RateBracket(2021, FilingStatus.S, 0, 995_000L, 0.10, null),
+                new RateBracket(2021, FilingStatus.S, 995_000, null, 0.12, null)
+        ), single);
+        assertEquals(3, service.getRateBrackets(2021, null).size());
+        assertNotNull(service.getRateBrackets(1900, null).get(0).message());
+        assertThrows(IllegalArgumentException.class, () -> service.getRateBrackets(1700, null));
+    }
+
+    @Test
+    public void calculateTaxBreakdown_highIncome_exactToTheCent() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.37f, new BigDecimal("10000"), null)
+        ));
+
+        TaxPaidResponse resp = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "$25,000,000.03"));
+
+        // 1,000.00 + (25,000,000.03 - 10,000) * 0.37 = 9,247,300.0111
+        assertEquals("$9,247,300.01", resp.getTotalTaxPaid());
+        assertEquals("$25,000,000.03", resp.getBrackets().get(1).getRangeEnd());
+    }
+
+    @Test
+    public void calculateTaxBreakdown_incomeAboveSupportedMaximum_throws() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "10000000000.01")));
+        assertTrue(ex.getMessage().contains("must not exceed"));
+    }
+
+    @Test
+    public void simulateTotals_skipsBracketBreakdown() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        List<TaxPaidResponse> out = service.simulateTotals(List.of(
+                new TaxInput(2021, FilingStatus.S, "25000"),
+                new TaxInput(1900, FilingStatus.S, "25000")
+        ));
+
+        assertEquals(2, out.size());
+        assertTrue(out.get(0).getBrackets().isEmpty());
+        assertEquals("$4,000.00", out.get(0).getTotalTaxPaid());
+        assertEquals("16%", out.get(0).getAvgRate());
+        assertNotNull(out.get(1).getMessage());
+    }
+
+    @Test
+    public void simulateTotals_batchedBySchedule_matchesPerInputTotalsInOrder() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("9950")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("9950"), new BigDecimal("40525")),
+                new TaxRate(2021, FilingStatus.S, 0.22f, new BigDecimal("40525"), null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, new BigDecimal("19900")),
+                new TaxRate(2021, FilingStatus.MFJ, 0.12f, new BigDecimal("19900"), null)
+        ));
+
+        List<TaxInput> inputs = new java.util.ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            FilingStatus status = i % 3 == 0 ? FilingStatus.MFJ : FilingStatus.S;
+            inputs.add(new TaxInput(2021, status, String.valueOf(i * 1_234.56)));
+        }
+
+        List<TaxPaidResponse> out = service.simulateTotals(inputs);
+
+        assertEquals(inputs.size(), out.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            TaxPaidResponse expected = service.calculateTaxTotals(inputs.get(i));
+            assertEquals(expected.getTotalTaxPaid(), out.get(i).getTotalTaxPaid(), "input " + i);
+            assertEquals(expected.getAvgRate(), out.get(i).getAvgRate(), "input " + i);
+        }
+    }
+
+    @Test
+    public void simulateBulk_groupsBySchedule_keepsInputOrder() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null),
+                new TaxRate(2020, FilingStatus.MFJ, 0.15f, BigDecimal.ZERO, null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        List<TaxInput> inputs = new java.util.ArrayList<>();
+        for (int i = 0; i < TaxService.BULK_CHUNK_SIZE + 10; i++) {
+            switch (i % 3) {
+                case 0 -> inputs.add(new TaxInput(2021, FilingStatus.S, String.valueOf(1_000 + i)));
+                case 1 -> inputs.add(new TaxInput(2020, FilingStatus.MFJ, String.valueOf(1_000 + i)));
+                default -> inputs.add(new TaxInput(1900, FilingStatus.S, "1000"));
+            }
+        }
+
+        List<TaxPaidResponse> out = service.simulateBulk(inputs);
+
+        assertEquals(inputs.size(), out.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            TaxPaidResponse expected = service.calculateTaxBreakdown(inputs.get(i));
+            assertEquals(expected.getTotalTaxPaid(), out.get(i).getTotalTaxPaid(), "input " + i);
+            assertEquals(expected.getMessage(), out.get(i).getMessage(), "input " + i);
+        }
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    public void computeBulk_matchesFormattedSimulation() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null)
+        ));
+        List<TaxInput> inputs = List.of(
+                new TaxInput(2021, FilingStatus.S, "25000"),
+                new TaxInput(2021, FilingStatus.S, "5000")
+        );
+
+        List<TaxResult> raw = service.computeBulk(inputs);
+        List<TaxResult> totals = service.computeBulkTotals(inputs);
+        List<TaxPaidResponse> formatted = service.simulateBulk(inputs);
+
+        assertEquals(400_000, raw.get(0).totalTaxCents());
+        assertEquals(2, raw.get(0).brackets().size());
+        assertEquals(50_000, raw.get(1).totalTaxCents());
+        assertEquals(raw.get(0).totalTaxCents(), totals.get(0).totalTaxCents());
+        assertTrue(totals.get(0).brackets().isEmpty());
+        assertEquals("$4,000.00", formatted.get(0).getTotalTaxPaid());
+        assertEquals("$500.00", formatted.get(1).getTotalTaxPaid());
+    }
+
+    @Test
+    public void simulateBulk_reportsFirstInvalidInput() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.simulateBulk(List.of(
+                new TaxInput(2021, FilingStatus.S, "1000"),
+                new TaxInput(1800, FilingStatus.S, "1000"),
+                new TaxInput(2021, FilingStatus.MFJ, "1000"))));
+        assertEquals("Invalid year: 1800", ex.getMessage());
+    }
+
+    @Test
+    public void simulateColumns_matchesTotalsAndFlagsRows() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null),
+                new TaxRate(2020, FilingStatus.MFJ, 0.15f, new BigDecimal("5000"), null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        TaxBatch batch = new TaxBatch(
+                new short[]{2020, 2021, 1900, 2021, 2020, 2021},
+                new byte[]{TaxBatch.statusCode(FilingStatus.MFJ), TaxBatch.statusCode(FilingStatus.S),
+                        TaxBatch.statusCode(FilingStatus.S), TaxBatch.statusCode(FilingStatus.HOH),
+                        TaxBatch.statusCode(FilingStatus.MFJ), TaxBatch.statusCode(FilingStatus.S)},
+                new long[]{1_500_000L, 2_500_000L, 100L, 100L, 100_000L, 333L});
+
+        TaxBatchResult result = service.simulateColumns(batch);
+
+        assertArrayEquals(new byte[]{TaxBatchResult.ROW_OK, TaxBatchResult.ROW_OK, TaxBatchResult.ROW_NO_INCOME_TAX,
+                TaxBatchResult.ROW_INVALID, TaxBatchResult.ROW_INVALID, TaxBatchResult.ROW_OK}, result.getRowStatus());
+        assertEquals(150_000L, result.getTotalCents()[0]);
+        assertEquals(1_000, result.getAvgRateBp()[0]);
+        assertEquals(1_500, result.getMarginalRateBp()[0]);
+        assertEquals(400_000L, result.getTotalCents()[1]);
+        assertEquals(1_600, result.getAvgRateBp()[1]);
+        assertEquals(2_000, result.getMarginalRateBp()[1]);
+        assertEquals(33L, result.getTotalCents()[5]);
+    }
+
+    @Test
+    public void solve_inverseOfBreakdown() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        // $3,999.996 already rounds to $4,000.00
+        SolveResponse byTax = service.solve(new SolveRequest(2021, FilingStatus.S, SolveTarget.TAX, new BigDecimal("4000")));
+        assertEquals(new BigDecimal("24999.98"), byTax.grossIncome());
+        assertEquals("$4,000.00", byTax.totalTax());
+        assertEquals("$20,999.98", byTax.netIncome());
+        assertEquals("16%", byTax.avgRate());
+
+        SolveResponse byNet = service.solve(new SolveRequest(2021, FilingStatus.S, SolveTarget.NET_INCOME, new BigDecimal("21000")));
+        assertEquals(new BigDecimal("25000.00"), byNet.grossIncome());
+
+        SolveResponse byRate = service.solve(new SolveRequest(2021, FilingStatus.S, SolveTarget.EFFECTIVE_RATE, new BigDecimal("0.16")));
+        assertEquals(new BigDecimal("25000.00"), byRate.grossIncome());
+
+        List<SolveResponse> batch = service.solveAll(List.of(
+                new SolveRequest(2021, FilingStatus.S, SolveTarget.EFFECTIVE_RATE, new BigDecimal("0.25")),
+                new SolveRequest(1900, FilingStatus.S, SolveTarget.NET_INCOME, new BigDecimal("500")),
+                new SolveRequest(1900, FilingStatus.S, SolveTarget.TAX, new BigDecimal("1"))
+        ));
+        assertNull(batch.get(0).grossIncome());
+        assertNotNull(batch.get(0).message());
+        assertEquals(new BigDecimal("500.00"), batch.get(1).grossIncome());
+        assertNull(batch.get(2).grossIncome());
+        verify(repo, times(1)).findAll();
+    }
+
+    @Test
+    public void solve_invalidRequests_throw() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> service.solve(
+                new SolveRequest(1800, FilingStatus.S, SolveTarget.TAX, BigDecimal.ONE)));
+        assertThrows(IllegalArgumentException.class, () -> service.solve(
+                new SolveRequest(2021, FilingStatus.S, SolveTarget.TAX, new BigDecimal("-1"))));
+        assertThrows(IllegalArgumentException.class, () -> service.solve(
+                new SolveRequest(2021, FilingStatus.S, SolveTarget.EFFECTIVE_RATE, BigDecimal.ONE)));
+        assertThrows(IllegalArgumentException.class, () -> service.solve(
+                new SolveRequest(2021, FilingStatus.MFJ, SolveTarget.TAX, BigDecimal.ONE)));
+        assertThrows(IllegalArgumentException.class, () -> service.solve(
+                new SolveRequest(2021, FilingStatus.S, null, BigDecimal.ONE)));
+    }
+
+    @Test
+    public void getCurve_breakpointsAndGridMatchTotals() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, new BigDecimal("1000"), new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null)
+        ));
+
+        TaxCurveResponse curve = service.getCurve(2021, FilingStatus.S, null, new BigDecimal("1234.56"), 100);
+
+        assertEquals(3, curve.breakpoints().size());
+        TaxCurveResponse.Point untaxed = curve.breakpoints().get(0);
+        assertEquals(0, untaxed.income().signum());
+        assertEquals(0.0, untaxed.marginalRate());
+        TaxCurveResponse.Point second = curve.breakpoints().get(2);
+        assertEquals(new BigDecimal("10000.00"), second.income());
+        assertEquals(new BigDecimal("900.00"), second.totalTax());
+        assertEquals(0.09, second.effectiveRate(), 1e-12);
+        assertEquals(0.2, second.marginalRate(), 1e-12);
+
+        TaxCurveResponse.Grid grid = curve.grid();
+        assertEquals(100, grid.income().length);
+        for (int k = 1; k < 100; k++) {
+            TaxPaidResponse expected = service.calculateTaxTotals(
+                    new TaxInput(2021, FilingStatus.S, grid.income()[k].toPlainString()));
+            assertEquals(expected.getTotalTaxPaid(), String.format("$%,.2f", grid.totalTax()[k]), "k=" + k);
+        }
+        assertEquals(0, grid.totalTax()[0].signum());
+        assertEquals(0.2, grid.marginalRate()[99], 1e-12);
+
+        assertNull(service.getCurve(2021, FilingStatus.S, null, null, null).grid());
+    }
+
+    @Test
+    public void getCurve_noTaxYearAndInvalidGrid() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        TaxCurveResponse none = service.getCurve(1900, FilingStatus.S, BigDecimal.ZERO, BigDecimal.TEN, 3);
+        assertNotNull(none.message());
+        assertTrue(none.breakpoints().isEmpty());
+        assertEquals(0, none.grid().totalTax()[2].signum());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCurve(2021, FilingStatus.S, BigDecimal.ZERO, BigDecimal.TEN, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCurve(2021, FilingStatus.S, BigDecimal.ZERO, BigDecimal.ZERO, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCurve(2021, FilingStatus.S, BigDecimal.ZERO, new BigDecimal("0.001"), 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCurve(2021, FilingStatus.S, new BigDecimal("9999999999"), BigDecimal.TEN, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getCurve(2021, FilingStatus.MFJ, null, null, null));
+    }
+
+    @Test
+    public void compareYears_evaluatesEveryYearAndStatusInRange() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(1913, FilingStatus.S, 0.01f, BigDecimal.ZERO, null),
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000")),
+                new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+        List<BigDecimal> incomes = List.of(new BigDecimal("5000"), new BigDecimal("20000"));
+
+        List<YearTaxResult> rows = service.compareYears(incomes, List.of(), null, null, YearComparisonSort.YEAR);
+
+        // 1900 for every status, 1913 for single filers only, 2021 for the two statuses with brackets
+        assertEquals(2 * (FilingStatus.values().length + 1 + 2), rows.size());
+        assertEquals(1900, rows.get(0).year());
+        assertNotNull(rows.get(0).message());
+        assertEquals(0, rows.get(0).totalTax().signum());
+        for (YearTaxResult row : rows) {
+            if (row.message() == null) {
+                TaxPaidResponse expected = service.calculateTaxTotals(
+                        new TaxInput(row.year(), row.status(), row.income().toPlainString()));
+                assertEquals(expected.getTotalTaxPaid(), String.format("$%,.2f", row.totalTax()), row.toString());
+            }
+        }
+        YearTaxResult top = rows.stream()
+                .filter(r -> r.year() == 2021 && r.status() == FilingStatus.S && r.income().intValue() == 20000)
+                .findFirst().orElseThrow();
+        assertEquals(new BigDecimal("3000.00"), top.totalTax());
+        assertEquals(0.15, top.effectiveRate(), 1e-12);
+        assertEquals(0.2, top.marginalRate(), 1e-6);
+
+        List<YearTaxResult> byBurden = service.compareYears(incomes, List.of(FilingStatus.S), 1862, 2021,
+                YearComparisonSort.BURDEN);
+        assertEquals(6, byBurden.size());
+        assertEquals(top, byBurden.get(0));
+        for (int i = 1; i < byBurden.size(); i++) {
+            assertTrue(byBurden.get(i - 1).effectiveRate() >= byBurden.get(i).effectiveRate());
+        }
+    }
+
+    @Test
+    public void compareYears_bulkPoolSaturated_stillAnswers() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2020, FilingStatus.S, 0.10f, BigDecimal.ZERO, null),
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+        BulkSimulationExecutor saturated = Mockito.mock(BulkSimulationExecutor.class);
+        doThrow(new RejectedExecutionException("Too many bulk simulations in progress, retry later"))
+                .when(saturated).invokeAll(any());
+        TaxService interactive = new TaxService(indexProvider, saturated,
+                new BreakdownResultCache(indexProvider, 1 << 20, new SimpleMeterRegistry()));
+
+        List<YearTaxResult> rows = interactive.compareYears(List.of(new BigDecimal("1000")), List.of(FilingStatus.S),
+                2020, 2021, YearComparisonSort.YEAR);
+
+        assertEquals(2, rows.size());
+        assertEquals(new BigDecimal("100.00"), rows.get(1).totalTax());
+        verifyNoInteractions(saturated);
+    }
+
+    @Test
+    public void compareYears_invalidArguments_throw() {
+        List<BigDecimal> incomes = List.of(BigDecimal.TEN);
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(incomes, null, 2021, 1913, YearComparisonSort.YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(incomes, null, 1700, 2021, YearComparisonSort.YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(List.of(), null, 1913, 2021, YearComparisonSort.YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(List.of(BigDecimal.ZERO), null, 1913, 2021, YearComparisonSort.YEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(List.of(new BigDecimal("99999999999")), null, 1913, 2021, YearComparisonSort.YEAR));
+    }
+
+    @Test
+    public void compareYears_hugeNegativeIncome_isABadRequestNotAnOverflow() {
+        // far below Long.MIN_VALUE cents: must be rejected before the conversion, not overflow inside it
+        assertThrows(IllegalArgumentException.class,
+                () -> service.compareYears(List.of(new BigDecimal("-1e30")), null, 1913, 2021, YearComparisonSort.YEAR));
+    }
+
+    @Test
+    public void calculateTaxBreakdown_noScheduleForStatus_throws() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.MFJ, "50000")));
+        assertTrue(ex.getMessage().contains("No tax rates found"));
+    }
+
+    @Test
+    public void readPaths_areServedFromIndexWithoutFurtherQueries() {
+        TaxRate t1 = new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("10000"));
+        TaxRate t2 = new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("10000"), null);
+        when(repo.findAll()).thenReturn(List.of(t2, t1));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        service.listYears();
+        service.getRates(2021, FilingStatus.S);
+        service.getSummary(2021, FilingStatus.S);
+        service.getHistory(FilingStatus.S, Metric.TOP_RATE, 1890, 2021);
+        TaxPaidResponse resp = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "20000"));
+
+        assertEquals("$3,000.00", resp.getTotalTaxPaid());
+        verify(repo, times(1)).findAll();
+        verify(noTaxRepo, times(1)).findAll();
+        verify(metricsRepo, times(1)).findAll();
+        verifyNoMoreInteractions(repo, noTaxRepo, metricsRepo);
+    }
+
+    @Test
+    public void refresh_publishesNewRows() {
+        when(repo.findAll()).thenReturn(List.of());
+        assertTrue(service.getRates(2021, FilingStatus.S).isEmpty());
+
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+        indexProvider.refresh();
+
+        assertEquals(1, service.getRates(2021, FilingStatus.S).size());
+    }
+
+    @Test
+    public void refresh_labelsSnapshotWithDatasetVersionReadBeforeTheRows() {
+        Instant committed = Instant.parse("2025-04-01T12:00:00Z");
+        when(versionRepo.current()).thenReturn(Optional.of(new DatasetVersion(DatasetVersion.ID, 7L, committed)));
+
+        BracketIndex index = indexProvider.refresh();
+
+        assertEquals(7, index.version());
+        assertEquals(committed, index.lastModified());
+        InOrder order = inOrder(versionRepo, repo);
+        order.verify(versionRepo).current();
+        order.verify(repo).findAll();
+
+        when(versionRepo.current()).thenReturn(Optional.empty());
+        assertEquals(0, indexProvider.refresh().version());
+    }
+
+    @Test
+    public void refreshIfBehind_rebuildsOnlyForANewerStoredVersion() {
+        Instant committed = Instant.parse("2025-04-01T12:00:00Z");
+        when(versionRepo.current()).thenReturn(Optional.of(new DatasetVersion(DatasetVersion.ID, 3L, committed)));
+        BracketIndex loaded = indexProvider.current();
+
+        assertFalse(indexProvider.refreshIfBehind());
+        assertSame(loaded, indexProvider.current());
+
+        when(versionRepo.current()).thenReturn(Optional.of(new DatasetVersion(DatasetVersion.ID, 4L, committed)));
+        assertTrue(indexProvider.refreshIfBehind());
+        assertEquals(4, indexProvider.current().version());
+    }
+
+    @Test
+    public void refreshAfterCommit_publishesOnlyOnceTheTransactionCommits() {
+        when(repo.findAll()).thenReturn(List.of());
+        BracketIndex before = indexProvider.current();
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            indexProvider.refreshAfterCommit();
+            // still inside the import transaction: readers keep the old snapshot
+            assertSame(before, indexProvider.current());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertSame(before, indexProvider.current());
+
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotSame(before, indexProvider.current());
+        assertEquals(1, service.getRates(2021, FilingStatus.S).size());
+        assertTrue(indexProvider.snapshot().builtAt().compareTo(Instant.now()) <= 0);
+    }
+
     @Test
     public void getSummary_invalidYear_throws() {
         assertThrows(IllegalArgumentException.class,
@@ -159,8 +723,7 @@ public class TaxServiceTest {
     @Test
     public void getSummary_noTaxYear_returnsNoIncomeTaxSummary() {
         int year = 2024;
-        when(noTaxRepo.existsById(year)).thenReturn(true);
-        when(noTaxRepo.findById(year)).thenReturn(Optional.of(new NoIncomeTaxYear(year)));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(year)));
         TaxSummaryResponse resp = service.getSummary(year, FilingStatus.S);
         assertEquals(year, resp.year());
         assertEquals(FilingStatus.S, resp.status());
@@ -173,10 +736,9 @@ public class TaxServiceTest {
     @Test
     public void getSummary_normalYear_returnsCorrectSummary() {
         int year = 2022;
-        when(noTaxRepo.existsById(year)).thenReturn(false);
         TaxRate t1 = new TaxRate(year, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("5000"));
         TaxRate t2 = new TaxRate(year, FilingStatus.S, 0.20f, new BigDecimal("5000"), new BigDecimal("10000"));
-        when(repo.findByYearAndStatus(year, FilingStatus.S)).thenReturn(List.of(t1, t2));
+        when(repo.findAll()).thenReturn(List.of(t1, t2));
 
         TaxSummaryResponse resp = service.getSummary(year, FilingStatus.S);
         assertEquals(year, resp.year());
@@ -189,15 +751,36 @@ public class TaxServiceTest {
         assertTrue(resp.averageRate().endsWith("%"));
     }
 
+    @Test
+    public void summaryAndHistory_serveStoredMetricsAndComputeMissingOnes() {
+        TaxRate t1 = new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("5000"));
+        TaxRate t2 = new TaxRate(2021, FilingStatus.S, 0.20f, new BigDecimal("5000"), null);
+        TaxRate m1 = new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, null);
+        when(repo.findAll()).thenReturn(List.of(t1, t2, m1));
+        // S has the row the import stored; MFJ has none and falls back to its brackets
+        when(metricsRepo.findAll()).thenReturn(List.of(
+                new YearStatusMetrics(2021, FilingStatus.S, 2, 0.10f, 0.20f, 0.15, BigDecimal.ZERO, new BigDecimal("5000.00"))));
+
+        TaxSummaryResponse single = service.getSummary(2021, FilingStatus.S);
+        assertEquals(new BigDecimal("5000.00"), single.maxThreshold());
+        assertEquals("15%", single.averageRate());
+        assertEquals(1, indexProvider.current().storedMetricsCount());
+
+        TaxSummaryResponse joint = service.getSummary(2021, FilingStatus.MFJ);
+        assertEquals(1, joint.bracketCount());
+        assertEquals("10%", joint.averageRate());
+        assertEquals(BigDecimal.ZERO, joint.maxThreshold());
+        assertEquals("10%", service.getHistory(FilingStatus.MFJ, Metric.TOP_RATE, 2021, 2021).get(0).getValue());
+        assertEquals("20%", service.getHistory(FilingStatus.S, Metric.TOP_RATE, 2021, 2021).get(0).getValue());
+    }
+
     @Test
     public void testGetHistoryTopRate() {
         TaxRate r2020a = new TaxRate(2020, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("50000"));
         TaxRate r2020b = new TaxRate(2020, FilingStatus.S, 0.15f, new BigDecimal("50000"), new BigDecimal("100000"));
         TaxRate r2021  = new TaxRate(2021, FilingStatus.S, 0.20f, BigDecimal.ZERO, new BigDecimal("75000"));
 
-        when(repo.findByStatus(FilingStatus.S)).thenReturn(List.of(r2020a, r2020b, r2021));
-        when(repo.findByYearAndStatus(2020, FilingStatus.S)).thenReturn(List.of(r2020a, r2020b));
-        when(repo.findByYearAndStatus(2021, FilingStatus.S)).thenReturn(List.of(r2021));
+        when(repo.findAll()).thenReturn(List.of(r2020a, r2020b, r2021));
 
         List<YearMetric> metrics = service.getHistory(FilingStatus.S, Metric.TOP_RATE, 2020, 2021);
         assertEquals(2, metrics.size());
@@ -213,9 +796,57 @@ public class TaxServiceTest {
         assertEquals(percentFormat(0.20f), m2021.getValue());
     }
 
+    @Test
+    public void getHistoryMatrix_matchesPerMetricHistory() {
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(1913, FilingStatus.S, 0.01f, BigDecimal.ZERO, new BigDecimal("20000")),
+                new TaxRate(1913, FilingStatus.S, 0.07f, new BigDecimal("20000"), null),
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("9950")),
+                new TaxRate(2021, FilingStatus.S, 0.12f, new BigDecimal("9950"), new BigDecimal("40525")),
+                new TaxRate(2021, FilingStatus.S, 0.37f, new BigDecimal("40525"), null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.10f, BigDecimal.ZERO, null)
+        ));
+        when(noTaxRepo.findAll()).thenReturn(List.of(new NoIncomeTaxYear(1900)));
+
+        HistoryMatrixResponse matrix = service.getHistoryMatrix(List.of(FilingStatus.S, FilingStatus.MFJ), List.of(),
+                null, null);
+
+        assertEquals(List.of(1900, 1913, 2021), matrix.years());
+        assertArrayEquals(new boolean[]{true, false, false}, matrix.noIncomeTax());
+        assertEquals(List.of(Metric.values()), matrix.metrics());
+        Map<Metric, Double[]> single = matrix.values().get(FilingStatus.S);
+        assertNull(single.get(Metric.TOP_RATE)[0]);
+        assertEquals(0.37, single.get(Metric.TOP_RATE)[2]);
+        assertEquals(3.0, single.get(Metric.BRACKET_COUNT)[2]);
+        assertEquals(40525.0, single.get(Metric.TOP_BRACKET_START)[2]);
+        assertEquals(9950.0, single.get(Metric.MIN_BRACKET_WIDTH)[2]);
+        assertEquals(30575.0, single.get(Metric.MAX_BRACKET_WIDTH)[2]);
+        assertEquals(20262.5, single.get(Metric.AVERAGE_BRACKET_WIDTH)[2]);
+        assertEquals(0.27, single.get(Metric.RATE_SPREAD)[2]);
+        assertEquals(0.06, single.get(Metric.RATE_SPREAD)[1]);
+        // MFJ has no brackets in 1913
+        assertNull(matrix.values().get(FilingStatus.MFJ).get(Metric.TOP_RATE)[1]);
+        assertEquals(0.0, matrix.values().get(FilingStatus.MFJ).get(Metric.MAX_BRACKET_WIDTH)[2]);
+
+        for (Metric metric : List.of(Metric.TOP_RATE, Metric.MIN_RATE, Metric.AVERAGE_RATE, Metric.BRACKET_COUNT)) {
+            List<YearMetric> history = service.getHistory(FilingStatus.S, metric, 1913, 2021);
+            assertEquals(2, history.size());
+            for (YearMetric entry : history) {
+                double value = single.get(metric)[matrix.years().indexOf(entry.getYear())];
+                String expected = metric == Metric.BRACKET_COUNT ? String.valueOf((int) value) : percentFormat(value);
+                assertEquals(expected, entry.getValue(), metric + " " + entry.getYear());
+            }
+        }
+        assertEquals("$40,525.00",
+                service.getHistory(FilingStatus.S, Metric.TOP_BRACKET_START, 2021, 2021).get(0).getValue());
+        assertEquals("27%", service.getHistory(FilingStatus.S, Metric.RATE_SPREAD, 2021, 2021).get(0).getValue());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getHistoryMatrix(null, null, 2021, 1913));
+    }
+
     @Test
     public void testGetHistoryUnsupportedMetricThrows() {
-        when(repo.findByStatus(FilingStatus.S)).thenReturn(List.of());
         assertThrows(IllegalArgumentException.class,
                 () -> service.getHistory(FilingStatus.S, Metric.valueOf("new metric"), 2020, 2021));
     }
@@ -244,14 +875,21 @@ public class TaxServiceTest {
         assertTrue(ex.getMessage().toLowerCase().contains("income"));
     }
 
+    @Test
+    public void calculateTaxBreakdown_hugeNegativeIncome_isABadRequestNotAnOverflow() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "-1e30")));
+        assertEquals("Income must be greater than 0", ex.getMessage());
+        // rounds down to zero cents
+        assertThrows(IllegalArgumentException.class,
+                () -> service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "0.004")));
+    }
+
     @Test
     public void calculateTaxBreakdown_zeroIncome_returnsNoTax() {
 
         TaxRate tr = new TaxRate(2021, FilingStatus.S, 0.0f, BigDecimal.ZERO, BigDecimal.ZERO);
-        when(repo.findByYearAndStatusAndRangeStartLessThan(eq(2021), eq(FilingStatus.S), any()))
-                .thenReturn(List.of(
-                        tr
-                ));
+        when(repo.findAll()).thenReturn(List.of(tr));
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                 () -> service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "0")));
@@ -262,10 +900,7 @@ public class TaxServiceTest {
     public void calculateTaxBreakdown_decimalIncome_parsesCorrectly() {
 
         TaxRate tr = new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, new BigDecimal("100000"));
-        when(repo.findByYearAndStatusAndRangeStartLessThan(eq(2021), eq(FilingStatus.S), any()))
-                .thenReturn(List.of(
-                        tr
-                ));
+        when(repo.findAll()).thenReturn(List.of(tr));
 
         TaxPaidResponse resp = service.calculateTaxBreakdown(new TaxInput(2021, FilingStatus.S, "12345.67"));
         assertTrue(resp.getTotalTaxPaid().contains("1,234"));
@@ -287,7 +922,6 @@ public class TaxServiceTest {
 
     @Test
     public void getHistory_nullMetric_throws() {
-        when(repo.findByStatus(FilingStatus.S)).thenReturn(Collections.emptyList());
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
                 () -> service.getHistory(FilingStatus.S, null, 1862, 2021));
         assertTrue(ex.getMessage().contains("Unsupported metric"));
@@ -295,7 +929,6 @@ public class TaxServiceTest {
 
     @Test
     public void getHistory_noData_returnsEmpty() {
-        when(repo.findByStatus(FilingStatus.MFJ)).thenReturn(Collections.emptyList());
         List<YearMetric> result = service.getHistory(FilingStatus.MFJ, Metric.BRACKET_COUNT, 1900, 1905);
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -310,19 +943,20 @@ public class TaxServiceTest {
 
     @Test
     public void testSimulateBulk() {
-        TaxService spySvc = Mockito.spy(service);
-        TaxPaidResponse dummy = new TaxPaidResponse(List.of(), 1000f, 0.10f);
-        doReturn(dummy).when(spySvc).calculateTaxBreakdown(any(TaxInput.class));
+        when(repo.findAll()).thenReturn(List.of(
+                new TaxRate(2021, FilingStatus.S, 0.10f, BigDecimal.ZERO, null),
+                new TaxRate(2021, FilingStatus.MFJ, 0.20f, BigDecimal.ZERO, null)
+        ));
 
         List<TaxInput> inputs = List.of(
                 new TaxInput(2021, FilingStatus.S, "50000"),
                 new TaxInput(2021, FilingStatus.MFJ, "80000")
         );
-        List<TaxPaidResponse> results = spySvc.simulateBulk(inputs);
+        List<TaxPaidResponse> results = service.simulateBulk(inputs);
 
         assertEquals(2, results.size());
-        assertSame(dummy, results.get(0));
-        assertSame(dummy, results.get(1));
+        assertEquals("$5,000.00", results.get(0).getTotalTaxPaid());
+        assertEquals("$16,000.00", results.get(1).getTotalTaxPaid());
     }
 
     @Test
@@ -0,0 +1,88 @@
+package com.project.marginal.tax.calculator.utility;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@code char[]} formatters with a {@code DecimalFormat} per call, over amounts and rates shaped like
+ * a {@code /breakdown} response.
+ * <p>
+ * Not run by the build; start it from the IDE or with
+ * {@code java -cp <test classpath> ...NumberFormatBenchmark}. Add {@code -prof gc} to see the allocation rate.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumberFormatBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final long[] cents = new long[SIZE];
+    private final double[] rates = new double[SIZE];
+    private final char[] buffer = new char[NumberFormatUtils.MAX_LENGTH];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < SIZE; i++) {
+            cents[i] = (long) (random.nextDouble() * 100_000_000L);
+            rates[i] = (double) (cents[i] / 7) / (cents[i] + 1);
+        }
+    }
+
+    @Benchmark
+    public void legacyDollars(Blackhole bh) {
+        for (long c : cents) {
+            bh.consume(NumberFormatUtils.legacyDollarFormat(c / 100.0));
+        }
+    }
+
+    @Benchmark
+    public void centsFormat(Blackhole bh) {
+        for (long c : cents) {
+            bh.consume(NumberFormatUtils.centsFormat(c));
+        }
+    }
+
+    @Benchmark
+    public void writeCents(Blackhole bh) {
+        for (long c : cents) {
+            bh.consume(NumberFormatUtils.writeCents(c, buffer));
+        }
+    }
+
+    @Benchmark
+    public void legacyPercent(Blackhole bh) {
+        for (double r : rates) {
+            bh.consume(NumberFormatUtils.legacyPercentFormat(r));
+        }
+    }
+
+    @Benchmark
+    public void percentFormat(Blackhole bh) {
+        for (double r : rates) {
+            bh.consume(NumberFormatUtils.percentFormat(r));
+        }
+    }
+
+    @Benchmark
+    public void writePercent(Blackhole bh) {
+        for (double r : rates) {
+            bh.consume(NumberFormatUtils.writePercent(r, buffer));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(NumberFormatBenchmark.class.getSimpleName()).build()).run();
+    }
+}
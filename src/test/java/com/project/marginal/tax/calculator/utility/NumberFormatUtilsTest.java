@@ -2,6 +2,9 @@ package com.project.marginal.tax.calculator.utility;
 
 import org.junit.jupiter.api.Test;
 
+import java.text.DecimalFormat;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class NumberFormatUtilsTest {
@@ -75,4 +78,81 @@ public class NumberFormatUtilsTest {
         assertTrue(formatted.startsWith("-"));
         assertTrue(formatted.endsWith("%"));
     }
+
+    private static final DecimalFormat DOLLARS = new DecimalFormat("$#,###,###,###,##0.00");
+    private static final DecimalFormat PERCENT = new DecimalFormat("#.##%");
+
+    private static void assertDollars(double value) {
+        assertEquals(DOLLARS.format(value), NumberFormatUtils.dollarFormat(value), () -> "value=" + value);
+    }
+
+    private static void assertPercent(double value) {
+        assertEquals(PERCENT.format(value), NumberFormatUtils.percentFormat(value), () -> "value=" + value);
+    }
+
+    @Test
+    public void centsFormat_matchesDecimalFormat_everyCentUpTo20000Dollars() {
+        for (long cents = -2_000_000; cents <= 2_000_000; cents++) {
+            String expected = DOLLARS.format(cents / 100.0);
+            assertEquals(expected, NumberFormatUtils.centsFormat(cents), "cents=" + cents);
+        }
+    }
+
+    @Test
+    public void centsFormat_matchesDecimalFormat_randomLargeAmounts() {
+        Random random = new Random(16);
+        for (int i = 0; i < 1_000_000; i++) {
+            long cents = (long) (random.nextDouble() * 100 * NumberFormatUtils.FAST_PATH_LIMIT);
+            cents = random.nextBoolean() ? cents : -cents;
+            assertEquals(DOLLARS.format(cents / 100.0), NumberFormatUtils.centsFormat(cents), "cents=" + cents);
+        }
+        assertEquals("$92,233,720,368,547,758.07", NumberFormatUtils.centsFormat(Long.MAX_VALUE));
+        assertEquals("-$92,233,720,368,547,758.08", NumberFormatUtils.centsFormat(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void percentFormat_matchesDecimalFormat_everyRateMillionth() {
+        for (int micros = -1_000_000; micros <= 2_000_000; micros++) {
+            assertPercent(micros / 1_000_000.0);
+        }
+    }
+
+    @Test
+    public void formats_matchDecimalFormat_atAndAroundEveryHalfHundredth() {
+        for (long n = 0; n < 500_000; n++) {
+            double tie = (n + 0.5) / 100;
+            for (double value : new double[]{tie, Math.nextUp(tie), Math.nextDown(tie), -tie}) {
+                assertDollars(value);
+                assertPercent(value / 100);
+                assertPercent(value);
+            }
+        }
+    }
+
+    @Test
+    public void formats_matchDecimalFormat_randomDoublesAcrossMagnitudes() {
+        Random random = new Random(2025);
+        for (int i = 0; i < 500_000; i++) {
+            double value = random.nextDouble() * Math.pow(10, random.nextInt(15) - 3);
+            value = random.nextBoolean() ? value : -value;
+            assertDollars(value);
+            assertPercent(value);
+            // ratios of whole cents, as the average rate is computed
+            long income = 1 + random.nextInt(100_000_000);
+            assertPercent((double) random.nextInt((int) Math.min(income, Integer.MAX_VALUE)) / income);
+        }
+    }
+
+    @Test
+    public void formats_fallBackOutsideTheFastPath() {
+        for (double value : new double[]{Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                1e15, -1e15, NumberFormatUtils.FAST_PATH_LIMIT, Double.MAX_VALUE, -0.0, Double.MIN_VALUE}) {
+            assertDollars(value);
+            assertPercent(value);
+        }
+        char[] buf = new char[NumberFormatUtils.MAX_LENGTH];
+        assertEquals(-1, NumberFormatUtils.writeDollars(Double.NaN, buf));
+        int start = NumberFormatUtils.writePercent(0.0725, buf);
+        assertEquals("7.25%", new String(buf, start, buf.length - start));
+    }
 }
@@ -0,0 +1,76 @@
+package com.project.marginal.tax.calculator.utility;
+
+import com.project.marginal.tax.calculator.dto.TaxBatch;
+import com.project.marginal.tax.calculator.dto.TaxBatchResult;
+import com.project.marginal.tax.calculator.entity.FilingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaxBatchCodecTest {
+
+    @Test
+    public void request_roundTrip() {
+        TaxBatch batch = new TaxBatch(
+                new short[]{2021, 1913, 2020},
+                new byte[]{TaxBatch.statusCode(FilingStatus.S), TaxBatch.statusCode(FilingStatus.MFS), 9},
+                new long[]{5_000_000L, 1L, 1_000_000_000_000L});
+
+        ByteBuffer encoded = TaxBatchCodec.encodeRequest(batch);
+        assertEquals(TaxBatchCodec.requestBytes(3), encoded.remaining());
+
+        TaxBatch decoded = TaxBatchCodec.decodeRequest(encoded);
+        assertArrayEquals(batch.getYears(), decoded.getYears());
+        assertArrayEquals(batch.getStatusCodes(), decoded.getStatusCodes());
+        assertArrayEquals(batch.getIncomeCents(), decoded.getIncomeCents());
+        assertEquals(FilingStatus.MFS, decoded.status(1));
+        assertNull(decoded.status(2));
+    }
+
+    @Test
+    public void response_roundTrip() {
+        TaxBatchResult result = new TaxBatchResult(
+                new long[]{123_456L, 0L},
+                new int[]{1_234, 0},
+                new int[]{2_200, 0},
+                new byte[]{TaxBatchResult.ROW_OK, TaxBatchResult.ROW_INVALID});
+
+        TaxBatchResult decoded = TaxBatchCodec.decodeResponse(TaxBatchCodec.encodeResponse(result));
+
+        assertArrayEquals(result.getTotalCents(), decoded.getTotalCents());
+        assertArrayEquals(result.getAvgRateBp(), decoded.getAvgRateBp());
+        assertArrayEquals(result.getMarginalRateBp(), decoded.getMarginalRateBp());
+        assertArrayEquals(result.getRowStatus(), decoded.getRowStatus());
+    }
+
+    @Test
+    public void emptyBatch_isHeaderOnly() {
+        ByteBuffer encoded = TaxBatchCodec.encodeRequest(new TaxBatch(new short[0], new byte[0], new long[0]));
+        assertEquals(8, encoded.remaining());
+        assertEquals(0, TaxBatchCodec.decodeRequest(encoded).size());
+    }
+
+    @Test
+    public void decode_rejectsMalformedInput() {
+        ByteBuffer response = TaxBatchCodec.encodeResponse(new TaxBatchResult(1));
+        assertThrows(IllegalArgumentException.class, () -> TaxBatchCodec.decodeRequest(response));
+
+        ByteBuffer truncated = ByteBuffer.allocate(4).putInt(TaxBatchCodec.REQUEST_MAGIC).flip();
+        assertThrows(IllegalArgumentException.class, () -> TaxBatchCodec.decodeRequest(truncated));
+
+        ByteBuffer wrongCount = ByteBuffer.allocate(8 + 11).putInt(TaxBatchCodec.REQUEST_MAGIC).putInt(2);
+        wrongCount.position(wrongCount.limit()).flip();
+        assertThrows(IllegalArgumentException.class, () -> TaxBatchCodec.decodeRequest(wrongCount));
+
+        ByteBuffer hugeCount = ByteBuffer.allocate(8).putInt(TaxBatchCodec.REQUEST_MAGIC).putInt(Integer.MAX_VALUE).flip();
+        assertThrows(IllegalArgumentException.class, () -> TaxBatchCodec.decodeRequest(hugeCount));
+    }
+
+    @Test
+    public void columns_mustHaveSameLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TaxBatch(new short[2], new byte[1], new long[2]));
+    }
+}